@@ -3,10 +3,12 @@ package com.smartbin.config;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "azure", matchIfMissing = true)
 public class AzureStorageConfig {
 
     @Value("${spring.cloud.azure.storage.blob.account-name}")
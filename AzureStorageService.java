@@ -3,72 +3,173 @@ package com.smartbin.service;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.core.util.BinaryData;
+import com.azure.core.util.Context;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
-public class AzureStorageService {
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "azure", matchIfMissing = true)
+public class AzureStorageService implements StorageBackend {
 
     private static final Logger logger = LoggerFactory.getLogger(AzureStorageService.class);
 
     @Autowired
     private BlobServiceClient blobServiceClient;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("storageBulkhead")
+    private Bulkhead storageBulkhead;
+
     @Value("${spring.cloud.azure.storage.blob.container-name}")
     private String containerName;
 
+    @Value("${app.storage.azure.block-size:4MB}")
+    private DataSize blockSize;
+
+    @Value("${app.storage.azure.max-single-upload-size:8MB}")
+    private DataSize maxSingleUploadSize;
+
+    @Value("${app.storage.azure.max-concurrency:4}")
+    private int maxConcurrency;
+
+    private BlobContainerClient containerClient;
+    private volatile boolean containerVerified;
+    private final ReentrantLock containerLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        containerClient = blobServiceClient.getBlobContainerClient(containerName);
+        try {
+            ensureContainer();
+        } catch (Exception e) {
+            // Storage may be unreachable at boot; the first upload retries the check
+            logger.warn("Could not verify storage container {} at startup: {}", containerName, e.getMessage());
+        }
+    }
+
+    @Override
+    public String store(InputStream data, long size, String originalFilename, String contentType, String folder)
+            throws IOException {
+        return uploadFile(data, size, originalFilename, contentType, folder);
+    }
+
+    @Override
+    public boolean delete(String fileUrl) {
+        return deleteFile(fileUrl);
+    }
+
+    @Override
+    public boolean exists(String fileUrl) {
+        return fileExists(fileUrl);
+    }
+
+    @Override
+    public void download(String fileUrl, Path target) throws IOException {
+        String blobName = extractBlobNameFromUrl(fileUrl);
+        if (blobName == null) {
+            throw new IOException("Could not extract blob name from URL: " + fileUrl);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            storageBulkhead.acquire();
+            try {
+                containerClient.getBlobClient(blobName).downloadToFile(target.toString(), true);
+            } finally {
+                storageBulkhead.release();
+            }
+            outcome = "success";
+        } catch (Exception e) {
+            logger.error("Error downloading file from Azure Storage", e);
+            throw new IOException("Failed to download file from Azure Storage: " + e.getMessage(), e);
+        } finally {
+            sample.stop(requestTimer("download", outcome));
+        }
+    }
+
     public String uploadFile(MultipartFile file, String folder) throws IOException {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
         }
 
+        return uploadFile(file.getInputStream(), file.getSize(), file.getOriginalFilename(), file.getContentType(), folder);
+    }
+
+    public String uploadFile(InputStream data, long size, String originalFilename, String contentType, String folder)
+            throws IOException {
         // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String fileExtension = originalFilename != null && originalFilename.contains(".") 
-            ? originalFilename.substring(originalFilename.lastIndexOf(".")) 
-            : "";
+        String fileExtension = StorageBackend.extensionFor(contentType);
         String fileName = folder + "/" + UUID.randomUUID().toString() + fileExtension;
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            // Get container client
-            BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
-            
-            // Create container if it doesn't exist
-            if (!containerClient.exists()) {
-                containerClient.create();
-                logger.info("Created container: {}", containerName);
-            }
+            ensureContainer();
 
             // Get blob client
             BlobClient blobClient = containerClient.getBlobClient(fileName);
 
             // Set content type
-            BlobHttpHeaders headers = new BlobHttpHeaders().setContentType(file.getContentType());
+            BlobHttpHeaders headers = new BlobHttpHeaders().setContentType(contentType);
 
-            // Upload file
-            blobClient.upload(file.getInputStream(), file.getSize(), true);
-            blobClient.setHttpHeaders(headers);
+            // Large files are split into blocks staged in parallel, small ones go in a single put
+            ParallelTransferOptions transferOptions = new ParallelTransferOptions()
+                    .setBlockSizeLong(blockSize.toBytes())
+                    .setMaxSingleUploadSizeLong(maxSingleUploadSize.toBytes())
+                    .setMaxConcurrency(maxConcurrency);
+
+            // Upload file with headers in the same request (overwrites any existing blob)
+            BlobParallelUploadOptions uploadOptions = new BlobParallelUploadOptions(BinaryData.fromStream(data, size))
+                    .setHeaders(headers)
+                    .setParallelTransferOptions(transferOptions);
+            storageBulkhead.acquire();
+            try {
+                blobClient.uploadWithResponse(uploadOptions, null, Context.NONE);
+            } finally {
+                storageBulkhead.release();
+            }
 
             String fileUrl = blobClient.getBlobUrl();
             logger.info("Successfully uploaded file: {}", fileUrl);
+            outcome = "success";
             
             return fileUrl;
 
         } catch (Exception e) {
             logger.error("Error uploading file to Azure Storage", e);
             throw new IOException("Failed to upload file to Azure Storage: " + e.getMessage(), e);
+        } finally {
+            sample.stop(requestTimer("upload", outcome));
         }
     }
 
     public boolean deleteFile(String fileUrl) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
             // Extract blob name from URL
             String blobName = extractBlobNameFromUrl(fileUrl);
@@ -77,10 +178,16 @@ public class AzureStorageService {
                 return false;
             }
 
-            BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
             BlobClient blobClient = containerClient.getBlobClient(blobName);
 
-            boolean deleted = blobClient.deleteIfExists();
+            boolean deleted;
+            storageBulkhead.acquire();
+            try {
+                deleted = blobClient.deleteIfExists();
+            } finally {
+                storageBulkhead.release();
+            }
+            outcome = deleted ? "success" : "not_found";
             if (deleted) {
                 logger.info("Successfully deleted file: {}", fileUrl);
             } else {
@@ -92,24 +199,64 @@ public class AzureStorageService {
         } catch (Exception e) {
             logger.error("Error deleting file from Azure Storage", e);
             return false;
+        } finally {
+            sample.stop(requestTimer("delete", outcome));
         }
     }
 
     public boolean fileExists(String fileUrl) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
             String blobName = extractBlobNameFromUrl(fileUrl);
             if (blobName == null) {
                 return false;
             }
 
-            BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(containerName);
             BlobClient blobClient = containerClient.getBlobClient(blobName);
 
-            return blobClient.exists();
+            boolean exists;
+            storageBulkhead.acquire();
+            try {
+                exists = blobClient.exists();
+            } finally {
+                storageBulkhead.release();
+            }
+            outcome = exists ? "success" : "not_found";
+            return exists;
 
         } catch (Exception e) {
             logger.error("Error checking file existence in Azure Storage", e);
             return false;
+        } finally {
+            sample.stop(requestTimer("exists", outcome));
+        }
+    }
+
+    private Timer requestTimer(String operation, String outcome) {
+        return Timer.builder("storage.azure.requests")
+                .description("Azure Blob Storage calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void ensureContainer() {
+        if (containerVerified) {
+            return;
+        }
+        // Not synchronized: the network call would pin a virtual thread
+        containerLock.lock();
+        try {
+            if (!containerVerified) {
+                if (containerClient.createIfNotExists()) {
+                    logger.info("Created container: {}", containerName);
+                }
+                containerVerified = true;
+            }
+        } finally {
+            containerLock.unlock();
         }
     }
 
@@ -0,0 +1,75 @@
+package com.smartbin.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent calls into a downstream system. Callers wait up to {@code maxWaitMs} for
+ * a permit and are rejected after that, so an unbounded number of (virtual) threads cannot
+ * pile onto blob storage or the connection pool.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMs = maxWaitMs;
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .description("Calls rejected after waiting for a bulkhead permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.active", this, Bulkhead::getActive)
+                .description("Calls currently holding a bulkhead permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Calls waiting for a bulkhead permit")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit; every successful call must be paired with {@link #release()}.
+     */
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException("Interrupted waiting for " + name + " bulkhead");
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException(name + " bulkhead full: " + maxConcurrent
+                    + " concurrent calls, waited " + maxWaitMs + " ms");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() { return name; }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public static class BulkheadFullException extends RuntimeException {
+        public BulkheadFullException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
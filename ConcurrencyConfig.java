@@ -0,0 +1,51 @@
+package com.smartbin.config;
+
+import com.smartbin.service.Bulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Bulkheads in front of blob storage and JDBC. They matter most with
+ * {@code spring.threads.virtual.enabled=true}, where request concurrency is no longer
+ * capped by the Tomcat thread pool; the JDBC one is only installed in that mode, so
+ * platform threads keep Hikari's own connection timeout.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    @Bean
+    public Bulkhead storageBulkhead(MeterRegistry meterRegistry,
+                                    @Value("${app.bulkhead.storage.max-concurrent:32}") int maxConcurrent,
+                                    @Value("${app.bulkhead.storage.max-wait-ms:5000}") long maxWaitMs) {
+        return new Bulkhead("storage", maxConcurrent, maxWaitMs, meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead databaseBulkhead(MeterRegistry meterRegistry,
+                                     @Value("${app.bulkhead.database.max-concurrent:10}") int maxConcurrent,
+                                     @Value("${app.bulkhead.database.max-wait-ms:30000}") long maxWaitMs) {
+        return new Bulkhead("database", maxConcurrent, maxWaitMs, meterRegistry);
+    }
+
+    // Static so the post-processor does not force early creation of this configuration
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(
+            BeanFactory beanFactory,
+            @Value("${app.bulkhead.database.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, beanFactory.getBean("databaseBulkhead", Bulkhead.class));
+                }
+                return bean;
+            }
+        };
+    }
+}
\ No newline at end of file
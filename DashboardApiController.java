@@ -0,0 +1,21 @@
+package com.smartbin.controller.api;
+
+import com.smartbin.dto.DashboardStats;
+import com.smartbin.service.DashboardStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DashboardApiController {
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<DashboardStats> getStats() {
+        return ResponseEntity.ok(dashboardStatsService.getStats());
+    }
+}
\ No newline at end of file
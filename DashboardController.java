@@ -1,8 +1,10 @@
 package com.smartbin.controller;
 
+import com.smartbin.dto.DashboardStats;
+import com.smartbin.dto.ReportResponse;
 import com.smartbin.model.Report;
+import com.smartbin.service.DashboardStatsService;
 import com.smartbin.service.ReportService;
-import com.smartbin.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -17,7 +19,7 @@ public class DashboardController {
     private ReportService reportService;
 
     @Autowired
-    private UserService userService;
+    private DashboardStatsService dashboardStatsService;
 
     @GetMapping("/")
     public String home() {
@@ -26,25 +28,19 @@ public class DashboardController {
 
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
-        // Get dashboard statistics
-        long totalReports = reportService.getTotalReportsCount();
-        long resolvedReports = reportService.getResolvedReportsCount();
-        long pendingReports = reportService.getPendingReportsCount();
-        long totalUsers = userService.getTotalUsersCount();
+        // Get dashboard statistics from the in-memory counters
+        DashboardStats stats = dashboardStatsService.getStats();
 
         // Get recent reports
-        List<Report> recentReports = reportService.getRecentReports(5);
+        List<ReportResponse> recentReports = dashboardStatsService.getRecentReports();
 
         // Add data to model
-        model.addAttribute("totalReports", totalReports);
-        model.addAttribute("resolvedReports", resolvedReports);
-        model.addAttribute("pendingReports", pendingReports);
-        model.addAttribute("totalUsers", totalUsers);
+        model.addAttribute("totalReports", stats.getTotalReports());
+        model.addAttribute("resolvedReports", stats.getResolvedReports());
+        model.addAttribute("pendingReports", stats.getPendingReports());
+        model.addAttribute("totalUsers", stats.getTotalUsers());
         model.addAttribute("recentReports", recentReports);
-
-        // Calculate resolution rate
-        double resolutionRate = totalReports > 0 ? (double) resolvedReports / totalReports * 100 : 0;
-        model.addAttribute("resolutionRate", Math.round(resolutionRate));
+        model.addAttribute("resolutionRate", stats.getResolutionRate());
 
         return "dashboard";
     }
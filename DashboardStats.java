@@ -0,0 +1,49 @@
+package com.smartbin.dto;
+
+public class DashboardStats {
+    
+    private long totalReports;
+    private long pendingReports;
+    private long inProgressReports;
+    private long resolvedReports;
+    private long rejectedReports;
+    private long totalUsers;
+    private long resolutionRate;
+    
+    // Constructors
+    public DashboardStats() {}
+    
+    public DashboardStats(long totalReports, long pendingReports, long inProgressReports,
+                          long resolvedReports, long rejectedReports, long totalUsers) {
+        this.totalReports = totalReports;
+        this.pendingReports = pendingReports;
+        this.inProgressReports = inProgressReports;
+        this.resolvedReports = resolvedReports;
+        this.rejectedReports = rejectedReports;
+        this.totalUsers = totalUsers;
+        double rate = totalReports > 0 ? (double) resolvedReports / totalReports * 100 : 0;
+        this.resolutionRate = Math.round(rate);
+    }
+    
+    // Getters and Setters
+    public long getTotalReports() { return totalReports; }
+    public void setTotalReports(long totalReports) { this.totalReports = totalReports; }
+    
+    public long getPendingReports() { return pendingReports; }
+    public void setPendingReports(long pendingReports) { this.pendingReports = pendingReports; }
+    
+    public long getInProgressReports() { return inProgressReports; }
+    public void setInProgressReports(long inProgressReports) { this.inProgressReports = inProgressReports; }
+    
+    public long getResolvedReports() { return resolvedReports; }
+    public void setResolvedReports(long resolvedReports) { this.resolvedReports = resolvedReports; }
+    
+    public long getRejectedReports() { return rejectedReports; }
+    public void setRejectedReports(long rejectedReports) { this.rejectedReports = rejectedReports; }
+    
+    public long getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(long totalUsers) { this.totalUsers = totalUsers; }
+    
+    public long getResolutionRate() { return resolutionRate; }
+    public void setResolutionRate(long resolutionRate) { this.resolutionRate = resolutionRate; }
+}
\ No newline at end of file
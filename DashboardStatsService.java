@@ -0,0 +1,256 @@
+package com.smartbin.service;
+
+import com.smartbin.dto.DashboardStats;
+import com.smartbin.dto.ReportResponse;
+import com.smartbin.event.ReportEvent;
+import com.smartbin.event.UserEvent;
+import com.smartbin.model.Report;
+import com.smartbin.repository.ReportRepository;
+import com.smartbin.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard counters kept in memory so page views cost no queries. Counters are seeded
+ * at startup, moved by committed report/user writes and periodically reconciled
+ * against the database to absorb any drift (e.g. rows changed outside the app).
+ * A reconcile round is skipped when a write commits while it counts, since the
+ * counts and the counters could then disagree about that write.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.dashboard.recent-size:5}")
+    private int recentSize;
+
+    private final LongAdder totalReports = new LongAdder();
+    private final LongAdder totalUsers = new LongAdder();
+    private final Map<Report.ReportStatus, LongAdder> reportsByStatus = new EnumMap<>(Report.ReportStatus.class);
+
+    // Writes between BEFORE_COMMIT and AFTER_COMPLETION, and writes applied to the counters
+    private final AtomicLong writesInFlight = new AtomicLong();
+    private final AtomicLong writesApplied = new AtomicLong();
+
+    // A lock rather than synchronized: refreshRecentReports queries the DB while holding it,
+    // which would pin a virtual thread to its carrier
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private volatile List<ReportResponse> recentReports = List.of();
+    private volatile boolean recentReportsStale = true;
+
+    public DashboardStatsService() {
+        for (Report.ReportStatus status : Report.ReportStatus.values()) {
+            reportsByStatus.put(status, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        // Nothing has been counted yet, so a racing write costs less than empty counters
+        reconcile(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        reconcile(false);
+    }
+
+    private void reconcile(boolean force) {
+        long appliedBefore = writesApplied.get();
+        long reports = reportRepository.count();
+        Map<Report.ReportStatus, Long> byStatus = new EnumMap<>(Report.ReportStatus.class);
+        for (Report.ReportStatus status : Report.ReportStatus.values()) {
+            byStatus.put(status, reportRepository.countByStatus(status));
+        }
+        long users = userRepository.count();
+
+        // A write still in flight may already be in the counts but not in the counters;
+        // one applied meanwhile may be in the counters but not in the counts
+        if (!force && (writesInFlight.get() > 0 || writesApplied.get() != appliedBefore)) {
+            logger.debug("Skipping dashboard reconcile, writes committed while counting");
+        } else {
+            adjustTo(totalReports, reports, "totalReports");
+            byStatus.forEach((status, count) -> adjustTo(reportsByStatus.get(status), count, status.name()));
+            adjustTo(totalUsers, users, "totalUsers");
+        }
+        refreshRecentReports();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeReportCommit(ReportEvent event) {
+        trackInFlight();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeUserCommit(UserEvent event) {
+        trackInFlight();
+    }
+
+    // Runs after the AFTER_COMMIT listeners, and on a failed commit too
+    private void trackInFlight() {
+        writesInFlight.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                writesInFlight.decrementAndGet();
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onReportEvent(ReportEvent event) {
+        Report report = event.getReport();
+        switch (event.getType()) {
+            case CREATED:
+                totalReports.increment();
+                reportsByStatus.get(report.getStatus()).increment();
+                addRecentReport(new ReportResponse(report));
+                break;
+            case STATUS_CHANGED:
+                if (event.getPreviousStatus() != report.getStatus()) {
+                    reportsByStatus.get(event.getPreviousStatus()).decrement();
+                    reportsByStatus.get(report.getStatus()).increment();
+                }
+                replaceRecentReport(report);
+                break;
+            case CORROBORATED:
+                replaceRecentReport(report);
+                break;
+            case DELETED:
+                totalReports.decrement();
+                reportsByStatus.get(event.getPreviousStatus()).decrement();
+                removeRecentReport(report.getId());
+                break;
+        }
+        writesApplied.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onUserEvent(UserEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                totalUsers.increment();
+                break;
+            case DELETED:
+                totalUsers.decrement();
+                break;
+            default:
+                break;
+        }
+        writesApplied.incrementAndGet();
+    }
+
+    public DashboardStats getStats() {
+        return new DashboardStats(
+                totalReports.sum(),
+                reportsByStatus.get(Report.ReportStatus.PENDING).sum(),
+                reportsByStatus.get(Report.ReportStatus.IN_PROGRESS).sum(),
+                reportsByStatus.get(Report.ReportStatus.RESOLVED).sum(),
+                reportsByStatus.get(Report.ReportStatus.REJECTED).sum(),
+                totalUsers.sum());
+    }
+
+    public List<ReportResponse> getRecentReports() {
+        if (recentReportsStale) {
+            refreshRecentReports();
+        }
+        return recentReports;
+    }
+
+    private void adjustTo(LongAdder counter, long actual, String name) {
+        // Apply the difference rather than reset() so concurrent increments are not dropped
+        long drift = actual - counter.sum();
+        if (drift != 0) {
+            counter.add(drift);
+            logger.debug("Reconciled dashboard counter {} by {}", name, drift);
+        }
+    }
+
+    private void refreshRecentReports() {
+        recentLock.lock();
+        try {
+            recentReports = reportRepository.findTopNByOrderBySubmittedAtDesc(recentSize).stream()
+                    .map(ReportResponse::new)
+                    .toList();
+            recentReportsStale = false;
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private void addRecentReport(ReportResponse response) {
+        recentLock.lock();
+        try {
+            List<ReportResponse> updated = new ArrayList<>(recentSize);
+            updated.add(response);
+            for (ReportResponse existing : recentReports) {
+                if (updated.size() >= recentSize) {
+                    break;
+                }
+                updated.add(existing);
+            }
+            recentReports = List.copyOf(updated);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private void replaceRecentReport(Report report) {
+        recentLock.lock();
+        try {
+            List<ReportResponse> updated = new ArrayList<>(recentReports);
+            for (int i = 0; i < updated.size(); i++) {
+                if (updated.get(i).getId().equals(report.getId())) {
+                    updated.set(i, new ReportResponse(report));
+                    recentReports = List.copyOf(updated);
+                    return;
+                }
+            }
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private void removeRecentReport(Long reportId) {
+        recentLock.lock();
+        try {
+            List<ReportResponse> updated = new ArrayList<>(recentReports);
+            if (updated.removeIf(r -> r.getId().equals(reportId))) {
+                recentReports = List.copyOf(updated);
+                // An older report has to move up; fetch it on the next read
+                recentReportsStale = true;
+            }
+        } finally {
+            recentLock.unlock();
+        }
+    }
+}
\ No newline at end of file
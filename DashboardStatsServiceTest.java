@@ -0,0 +1,82 @@
+package com.smartbin.service;
+
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import com.smartbin.repository.ReportRepository;
+import com.smartbin.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardStatsServiceTest {
+
+    private final ReportRepository reportRepository = mock(ReportRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final DashboardStatsService service = new DashboardStatsService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "reportRepository", reportRepository);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "recentSize", 5);
+        when(reportRepository.findTopNByOrderBySubmittedAtDesc(anyInt())).thenReturn(List.of());
+        when(reportRepository.countByStatus(any())).thenReturn(0L);
+        when(reportRepository.count()).thenReturn(0L);
+        service.seed();
+    }
+
+    @Test
+    void reconcileKeepsEventAppliedWhileCounting() {
+        // The count was taken before the report committed, its event lands before the adjustment
+        when(reportRepository.count()).thenAnswer(invocation -> {
+            service.onReportEvent(ReportEvent.created(pendingReport(1L)));
+            return 0L;
+        });
+
+        service.reconcile();
+
+        assertThat(service.getStats().getTotalReports()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileSkipsWhileWriteIsInFlight() {
+        // Committed and visible to the counts, but its AFTER_COMMIT event has not run yet
+        when(reportRepository.count()).thenReturn(1L);
+        when(reportRepository.countByStatus(Report.ReportStatus.PENDING)).thenReturn(1L);
+        Report report = pendingReport(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.beforeReportCommit(ReportEvent.created(report));
+            service.reconcile();
+            service.onReportEvent(ReportEvent.created(report));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.getStats().getTotalReports()).isEqualTo(1);
+        assertThat(service.getStats().getPendingReports()).isEqualTo(1);
+
+        service.reconcile();
+        assertThat(service.getStats().getTotalReports()).isEqualTo(1);
+    }
+
+    private static Report pendingReport(Long id) {
+        Report report = new Report();
+        report.setId(id);
+        report.setStatus(Report.ReportStatus.PENDING);
+        return report;
+    }
+}
\ No newline at end of file
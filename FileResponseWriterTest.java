@@ -0,0 +1,31 @@
+package com.smartbin.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileResponseWriterTest {
+
+    private final FileResponseWriter writer = new FileResponseWriter();
+
+    @Test
+    void parsesSatisfiableRanges() {
+        assertThat(writer.parseRange("bytes=0-99", 1000)).containsExactly(0, 99);
+        assertThat(writer.parseRange("bytes=900-", 1000)).containsExactly(900, 999);
+        assertThat(writer.parseRange("bytes=-100", 1000)).containsExactly(900, 999);
+        assertThat(writer.parseRange("bytes=500-5000", 1000)).containsExactly(500, 999);
+    }
+
+    @Test
+    void ignoresInvalidRanges() {
+        assertThat(writer.parseRange("bytes=500-100", 1000)).isEmpty();
+        assertThat(writer.parseRange("bytes=0-1,5-6", 1000)).isEmpty();
+        assertThat(writer.parseRange("items=0-1", 1000)).isEmpty();
+    }
+
+    @Test
+    void rejectsRangesPastTheEnd() {
+        assertThat(writer.parseRange("bytes=1000-1100", 1000)).isNull();
+        assertThat(writer.parseRange("bytes=-0", 1000)).isNull();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,337 @@
+package com.smartbin.service;
+
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded on-disk LRU cache in front of the storage backend. Concurrent misses for
+ * the same file share one upstream download. Each cached file carries a strong ETag
+ * derived from its content hash.
+ *
+ * <p>{@link #get} returns a pinned entry and callers must {@link #release} it once they
+ * are done reading the file. An entry evicted while pinned stays on disk until its last
+ * reader releases it; every download gets its own file name, so a re-fetch never lands
+ * on a path that is still waiting to be deleted.
+ */
+@Service
+public class ImageCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageCacheService.class);
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.image-cache.dir:${java.io.tmpdir}/smartbin-image-cache}")
+    private String cacheDir;
+
+    @Value("${app.image-cache.max-size:1GB}")
+    private DataSize maxSize;
+
+    private Path root;
+    private long totalBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, CompletableFuture<CachedFile>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong fileSequence = new AtomicLong();
+
+    private Counter hits;
+    private Counter misses;
+    private Counter coalesced;
+    private Counter bytesSaved;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(cacheDir).toAbsolutePath().normalize();
+        // Entries are not persisted across restarts, so start from an empty directory
+        FileSystemUtils.deleteRecursively(root);
+        Files.createDirectories(root);
+
+        hits = Counter.builder("smartbin.image.cache.requests").tag("result", "hit")
+                .description("Image proxy requests served from the local cache").register(meterRegistry);
+        misses = Counter.builder("smartbin.image.cache.requests").tag("result", "miss")
+                .description("Image proxy requests fetched from the storage backend").register(meterRegistry);
+        coalesced = Counter.builder("smartbin.image.cache.requests").tag("result", "coalesced")
+                .description("Image proxy misses that waited on another request's download").register(meterRegistry);
+        bytesSaved = Counter.builder("smartbin.image.cache.bytes.saved").baseUnit("bytes")
+                .description("Bytes served from cache instead of storage egress").register(meterRegistry);
+        Gauge.builder("smartbin.image.cache.size", this, ImageCacheService::currentSizeBytes).baseUnit("bytes")
+                .description("Bytes held in the image cache").register(meterRegistry);
+        Gauge.builder("smartbin.image.cache.hit.ratio", this, ImageCacheService::hitRatio)
+                .description("Fraction of image proxy requests served from cache").register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached file, downloading it on a miss. The entry is pinned until
+     * {@link #release} is called.
+     */
+    public CachedFile get(String fileUrl) throws IOException {
+        CachedFile cached = lookup(fileUrl);
+        if (cached != null) {
+            hits.increment();
+            bytesSaved.increment(cached.size);
+            return cached;
+        }
+
+        CompletableFuture<CachedFile> ownFetch = new CompletableFuture<>();
+        CompletableFuture<CachedFile> fetch = inFlight.putIfAbsent(fileUrl, ownFetch);
+        if (fetch != null) {
+            // Someone else is already downloading this file; wait for their result
+            coalesced.increment();
+            CachedFile shared = await(fetch);
+            if (!pin(shared)) {
+                // Evicted before we got to it; start over
+                return get(fileUrl);
+            }
+            bytesSaved.increment(shared.size);
+            return shared;
+        }
+
+        misses.increment();
+        try {
+            CachedFile fetched = fetch(fileUrl);
+            ownFetch.complete(fetched);
+            return fetched;
+        } catch (IOException | RuntimeException e) {
+            ownFetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(fileUrl, ownFetch);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onReportEvent(ReportEvent event) {
+        if (event.getType() == ReportEvent.Type.DELETED) {
+            Report report = event.getReport();
+            evict(report.getImageUrl());
+            evict(report.getThumbnailUrl());
+        }
+    }
+
+    /**
+     * Unpins a file returned by {@link #get}. Deletes it if it was evicted while pinned.
+     */
+    public void release(CachedFile cached) {
+        boolean delete;
+        synchronized (entries) {
+            cached.pins--;
+            delete = cached.pins == 0 && cached.evicted;
+        }
+        if (delete) {
+            deleteQuietly(cached.path);
+        }
+    }
+
+    public void evict(String fileUrl) {
+        if (fileUrl == null) {
+            return;
+        }
+        CachedFile deletable = null;
+        synchronized (entries) {
+            CachedFile removed = entries.remove(fileUrl);
+            if (removed != null && markEvicted(removed)) {
+                deletable = removed;
+            }
+        }
+        if (deletable != null) {
+            deleteQuietly(deletable.path);
+        }
+    }
+
+    private CachedFile lookup(String fileUrl) {
+        CachedFile cached;
+        synchronized (entries) {
+            cached = entries.get(fileUrl);
+            if (cached == null) {
+                return null;
+            }
+            cached.pins++;
+        }
+
+        // Pinned, so eviction cannot delete it between this check and the caller's read
+        if (Files.exists(cached.path)) {
+            return cached;
+        }
+        synchronized (entries) {
+            // Removed from disk behind our back (e.g. a tmp cleaner); forget it
+            if (entries.remove(fileUrl, cached)) {
+                markEvicted(cached);
+            }
+        }
+        release(cached);
+        return null;
+    }
+
+    private boolean pin(CachedFile cached) {
+        synchronized (entries) {
+            if (cached.evicted) {
+                return false;
+            }
+            cached.pins++;
+            return true;
+        }
+    }
+
+    private CachedFile fetch(String fileUrl) throws IOException {
+        String key = sha256Hex(fileUrl.getBytes(StandardCharsets.UTF_8));
+        Path target = root.resolve(key + "-" + fileSequence.incrementAndGet());
+        Path temp = Files.createTempFile(root, key, ".part");
+        try {
+            storageBackend.download(fileUrl, temp);
+            String etag = "\"" + contentHash(temp) + "\"";
+            long size = Files.size(temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            CachedFile cached = new CachedFile(fileUrl, target, size, etag);
+            // Pinned for the downloading caller before anything can evict it
+            cached.pins = 1;
+            List<CachedFile> deletable = new ArrayList<>();
+            synchronized (entries) {
+                CachedFile previous = entries.put(fileUrl, cached);
+                if (previous != null && markEvicted(previous)) {
+                    deletable.add(previous);
+                }
+                totalBytes += size;
+                evictOverflow(deletable);
+            }
+            deletable.forEach(file -> deleteQuietly(file.path));
+            return cached;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Caller holds the entries lock; files that nobody is reading are added to deletable
+    private void evictOverflow(List<CachedFile> deletable) {
+        Iterator<CachedFile> eldest = entries.values().iterator();
+        // Never evict the entry just added, even if it alone exceeds the budget
+        while (totalBytes > maxSize.toBytes() && entries.size() > 1 && eldest.hasNext()) {
+            CachedFile victim = eldest.next();
+            eldest.remove();
+            if (markEvicted(victim)) {
+                deletable.add(victim);
+            }
+        }
+    }
+
+    // Caller holds the entries lock and has removed the entry; returns true if it can be deleted now
+    private boolean markEvicted(CachedFile cached) {
+        cached.evicted = true;
+        totalBytes -= cached.size;
+        return cached.pins == 0;
+    }
+
+    private long currentSizeBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count() + coalesced.count();
+        return total > 0 ? hits.count() / total : 0;
+    }
+
+    private static CachedFile await(CompletableFuture<CachedFile> fetch) throws IOException {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Image fetch failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static String contentHash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached image {}: {}", path, e.getMessage());
+        }
+    }
+
+    public static class CachedFile {
+        private final String fileUrl;
+        private final Path path;
+        private final long size;
+        private final String etag;
+        // Guarded by the entries lock
+        private int pins;
+        private boolean evicted;
+
+        public CachedFile(String fileUrl, Path path, long size, String etag) {
+            this.fileUrl = fileUrl;
+            this.path = path;
+            this.size = size;
+            this.etag = etag;
+        }
+
+        public String getFileUrl() { return fileUrl; }
+
+        public Path getPath() { return path; }
+
+        public long getSize() { return size; }
+
+        public String getEtag() { return etag; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.smartbin.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ImageCacheServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageCacheService cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StorageBackend storage = mock(StorageBackend.class);
+        doAnswer(invocation -> {
+            Files.write(invocation.getArgument(1, Path.class), new byte[600]);
+            return null;
+        }).when(storage).download(anyString(), any(Path.class));
+
+        cache = new ImageCacheService();
+        ReflectionTestUtils.setField(cache, "storageBackend", storage);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "cacheDir", tempDir.resolve("cache").toString());
+        ReflectionTestUtils.setField(cache, "maxSize", DataSize.ofBytes(1000));
+        cache.init();
+    }
+
+    @Test
+    void evictedFileSurvivesUntilLastReaderReleases() throws IOException {
+        ImageCacheService.CachedFile first = cache.get("a.jpg");
+        cache.release(first);
+        ImageCacheService.CachedFile reading = cache.get("a.jpg");
+
+        // Over budget: a.jpg is evicted while still being read
+        cache.release(cache.get("b.jpg"));
+
+        assertThat(Files.exists(reading.getPath())).isTrue();
+        cache.release(reading);
+        assertThat(Files.exists(reading.getPath())).isFalse();
+    }
+
+    @Test
+    void refetchAfterEvictionUsesNewFile() throws IOException {
+        ImageCacheService.CachedFile reading = cache.get("a.jpg");
+        cache.evict("a.jpg");
+        ImageCacheService.CachedFile refetched = cache.get("a.jpg");
+
+        cache.release(reading);
+
+        assertThat(refetched.getPath()).isNotEqualTo(reading.getPath());
+        assertThat(Files.exists(refetched.getPath())).isTrue();
+        cache.release(refetched);
+    }
+
+    @Test
+    void unpinnedEvictionDeletesImmediately() throws IOException {
+        ImageCacheService.CachedFile cached = cache.get("a.jpg");
+        cache.release(cached);
+
+        cache.evict("a.jpg");
+
+        assertThat(Files.exists(cached.getPath())).isFalse();
+    }
+}
\ No newline at end of file
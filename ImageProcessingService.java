@@ -0,0 +1,348 @@
+package com.smartbin.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Normalizes uploaded photos: re-encodes them as JPEG (dropping EXIF/GPS metadata after
+ * applying the EXIF orientation), caps the longest edge and derives a small thumbnail. Decoding is CPU heavy, so it
+ * runs on a fixed pool sized to the machine rather than on request threads.
+ */
+@Service
+public class ImageProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    public static final String OUTPUT_CONTENT_TYPE = "image/jpeg";
+    public static final String OUTPUT_EXTENSION = ".jpg";
+
+    @Value("${app.image.max-dimension:2048}")
+    private int maxDimension;
+
+    @Value("${app.image.thumbnail-dimension:320}")
+    private int thumbnailDimension;
+
+    @Value("${app.image.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    @Value("${app.image.max-pixels:50000000}")
+    private long maxPixels;
+
+    @Value("${app.image.workers:0}")
+    private int workers;
+
+    @Value("${app.image.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${app.image.timeout-ms:30000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor processingExecutor;
+
+    @PostConstruct
+    public void init() {
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        processingExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("image-processing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        processingExecutor.shutdownNow();
+    }
+
+    /**
+     * Checks, from the header alone, that the upload is an image we can decode and that it
+     * is within {@code app.image.max-pixels}. Cheap enough to run on the request thread.
+     *
+     * @throws InvalidImageException if the image would be refused by {@link #process}
+     */
+    public void validate(byte[] data) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            openReader(input).dispose();
+        }
+    }
+
+    /**
+     * Returns the normalized image and thumbnail. Throws {@link InvalidImageException} if the
+     * upload cannot be decoded or is over the pixel limit, and {@link IOException} if
+     * processing fails, times out or the pool is saturated. There is no fallback to the
+     * original bytes: they may carry EXIF/GPS metadata and must never be stored.
+     */
+    public ProcessedImage process(byte[] data) throws IOException {
+        Future<ProcessedImage> future;
+        try {
+            future = processingExecutor.submit(() -> doProcess(data));
+        } catch (RejectedExecutionException e) {
+            throw new IOException("Image processing queue is full", e);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing image", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IOException("Image processing timed out", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InvalidImageException invalidImage) {
+                throw invalidImage;
+            }
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Image processing failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private ProcessedImage doProcess(byte[] data) throws IOException {
+        BufferedImage source = decode(data);
+
+        // Phones store the sensor orientation in EXIF; bake it in before the metadata is dropped
+        source = applyOrientation(source, readExifOrientation(data));
+        BufferedImage full = scaleToFit(source, maxDimension);
+        BufferedImage thumbnail = scaleToFit(full, thumbnailDimension);
+
+        ProcessedImage result = new ProcessedImage(encodeJpeg(full), encodeJpeg(thumbnail));
+        logger.debug("Processed image {}x{} ({} bytes) to {}x{} ({} bytes), thumbnail {} bytes",
+                source.getWidth(), source.getHeight(), data.length, full.getWidth(), full.getHeight(),
+                result.getImage().length, result.getThumbnail().length);
+        return result;
+    }
+
+    private BufferedImage decode(byte[] data) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            ImageReader reader = openReader(input);
+            try {
+                return reader.read(0);
+            } catch (IOException e) {
+                throw new InvalidImageException("Could not decode image: " + e.getMessage());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ImageReader openReader(ImageInputStream input) {
+        Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+        if (readers == null || !readers.hasNext()) {
+            throw new InvalidImageException("Unsupported image format");
+        }
+
+        ImageReader reader = readers.next();
+        long pixels;
+        try {
+            reader.setInput(input, true, true);
+            // Check the header dimensions before allocating pixels to refuse decompression bombs
+            pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+        } catch (IOException | RuntimeException e) {
+            reader.dispose();
+            throw new InvalidImageException("Could not read image header: " + e.getMessage());
+        }
+        if (pixels > maxPixels) {
+            reader.dispose();
+            throw new InvalidImageException("Image has " + pixels + " pixels, limit is " + maxPixels);
+        }
+        return reader;
+    }
+
+    /**
+     * Returns the EXIF Orientation tag (1-8) of a JPEG, or 1 if there is none.
+     */
+    static int readExifOrientation(byte[] data) {
+        if (data.length < 4 || (data[0] & 0xff) != 0xFF || (data[1] & 0xff) != 0xD8) {
+            return 1;
+        }
+        int offset = 2;
+        while (offset + 4 <= data.length && (data[offset] & 0xff) == 0xFF) {
+            int marker = data[offset + 1] & 0xff;
+            if (marker == 0xDA || marker == 0xD9) {
+                // Start of scan or end of image: no metadata after this point
+                return 1;
+            }
+            int length = ((data[offset + 2] & 0xff) << 8) | (data[offset + 3] & 0xff);
+            int segment = offset + 4;
+            if (marker == 0xE1 && length >= 8 && segment + length - 2 <= data.length
+                    && data[segment] == 'E' && data[segment + 1] == 'x' && data[segment + 2] == 'i'
+                    && data[segment + 3] == 'f' && data[segment + 4] == 0 && data[segment + 5] == 0) {
+                return readTiffOrientation(data, segment + 6, segment + length - 2);
+            }
+            offset += 2 + length;
+        }
+        return 1;
+    }
+
+    private static int readTiffOrientation(byte[] data, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian = data[tiff] == 'I' && data[tiff + 1] == 'I';
+        if (!littleEndian && !(data[tiff] == 'M' && data[tiff + 1] == 'M')) {
+            return 1;
+        }
+        long ifd = tiff + readUnsigned(data, tiff + 4, 4, littleEndian);
+        if (ifd + 2 > end) {
+            return 1;
+        }
+        int entries = (int) readUnsigned(data, (int) ifd, 2, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                return 1;
+            }
+            if (readUnsigned(data, entry, 2, littleEndian) == 0x0112) {
+                int orientation = (int) readUnsigned(data, entry + 8, 2, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static long readUnsigned(byte[] data, int offset, int bytes, boolean littleEndian) {
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            int b = data[offset + (littleEndian ? bytes - 1 - i : i)] & 0xff;
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
+    private BufferedImage applyOrientation(BufferedImage source, int orientation) {
+        if (orientation == 1) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // Orientations 5-8 swap width and height
+        boolean transposed = orientation >= 5;
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);
+        };
+
+        BufferedImage target = new BufferedImage(transposed ? h : w, transposed ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, target.getWidth(), target.getHeight());
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private BufferedImage scaleToFit(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        // Halve repeatedly for large reductions; a single bilinear step aliases badly
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            if (scale == 1.0) {
+                width = targetWidth;
+                height = targetHeight;
+            }
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        // Always redraw into opaque RGB: JPEG has no alpha and this drops any colour profile quirks
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            // No metadata is passed, so EXIF (including GPS) from the original is not carried over
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The upload is not an image we accept; retrying will not help.
+     */
+    public static class InvalidImageException extends RuntimeException {
+        public InvalidImageException(String message) {
+            super(message);
+        }
+    }
+
+    public static class ProcessedImage {
+        private final byte[] image;
+        private final byte[] thumbnail;
+
+        public ProcessedImage(byte[] image, byte[] thumbnail) {
+            this.image = image;
+            this.thumbnail = thumbnail;
+        }
+
+        public byte[] getImage() { return image; }
+
+        public byte[] getThumbnail() { return thumbnail; }
+    }
+}
\ No newline at end of file
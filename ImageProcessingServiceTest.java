@@ -0,0 +1,111 @@
+package com.smartbin.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageProcessingServiceTest {
+
+    private ImageProcessingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageProcessingService();
+        ReflectionTestUtils.setField(service, "maxDimension", 2048);
+        ReflectionTestUtils.setField(service, "thumbnailDimension", 20);
+        ReflectionTestUtils.setField(service, "jpegQuality", 0.85f);
+        ReflectionTestUtils.setField(service, "maxPixels", 1_000_000L);
+        ReflectionTestUtils.setField(service, "workers", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ReflectionTestUtils.setField(service, "timeoutMs", 10_000L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void rotatesByExifOrientationBeforeScaling() throws IOException {
+        byte[] jpeg = withOrientation(landscapeJpeg(), 6, false);
+
+        ImageProcessingService.ProcessedImage processed = service.process(jpeg);
+
+        BufferedImage full = ImageIO.read(new ByteArrayInputStream(processed.getImage()));
+        assertThat(full.getWidth()).isEqualTo(40);
+        assertThat(full.getHeight()).isEqualTo(80);
+        // The red left edge of the sensor image ends up on top after a 90 degree clockwise turn
+        assertThat(new Color(full.getRGB(20, 2)).getRed()).isGreaterThan(200);
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(processed.getThumbnail()));
+        assertThat(thumbnail.getHeight()).isGreaterThan(thumbnail.getWidth());
+    }
+
+    @Test
+    void refusesUndecodableAndOversizedImages() throws IOException {
+        BufferedImage large = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(large, "jpeg", out);
+
+        assertThatThrownBy(() -> service.validate(new byte[] {1, 2, 3}))
+                .isInstanceOf(ImageProcessingService.InvalidImageException.class);
+        assertThatThrownBy(() -> service.validate(out.toByteArray()))
+                .isInstanceOf(ImageProcessingService.InvalidImageException.class)
+                .hasMessageContaining("limit");
+        assertThatThrownBy(() -> service.process(out.toByteArray()))
+                .isInstanceOf(ImageProcessingService.InvalidImageException.class);
+    }
+
+    @Test
+    void readsOrientationInBothByteOrders() throws IOException {
+        byte[] jpeg = landscapeJpeg();
+
+        assertThat(ImageProcessingService.readExifOrientation(jpeg)).isEqualTo(1);
+        assertThat(ImageProcessingService.readExifOrientation(withOrientation(jpeg, 8, false))).isEqualTo(8);
+        assertThat(ImageProcessingService.readExifOrientation(withOrientation(jpeg, 3, true))).isEqualTo(3);
+        assertThat(ImageProcessingService.readExifOrientation(new byte[] {1, 2, 3})).isEqualTo(1);
+    }
+
+    private static byte[] landscapeJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(80, 40, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 80; x++) {
+                image.setRGB(x, y, x < 10 ? Color.RED.getRGB() : Color.BLUE.getRGB());
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    // Inserts an APP1 segment holding a one-entry IFD0 with the Orientation tag right after SOI
+    private static byte[] withOrientation(byte[] jpeg, int orientation, boolean littleEndian) {
+        byte[] tiff = littleEndian
+                ? new byte[] {'I', 'I', 42, 0, 8, 0, 0, 0, 1, 0, 0x12, 0x01, 3, 0, 1, 0, 0, 0,
+                        (byte) orientation, 0, 0, 0, 0, 0, 0, 0}
+                : new byte[] {'M', 'M', 0, 42, 0, 0, 0, 8, 0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1,
+                        0, (byte) orientation, 0, 0, 0, 0, 0, 0};
+        int length = 2 + 6 + tiff.length;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write(length >> 8);
+        out.write(length & 0xff);
+        out.writeBytes(new byte[] {'E', 'x', 'i', 'f', 0, 0});
+        out.writeBytes(tiff);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,315 @@
+package com.smartbin.service;
+
+import com.smartbin.model.Report;
+import com.smartbin.repository.ReportRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores report images (normalized full-size image plus thumbnail) and, in async mode,
+ * does so off the request path. The report row is committed first with an image status
+ * of PENDING; the bytes go to a bounded upload pool and the row is updated with the blob
+ * URLs once the upload succeeds. Only the re-encoded image is ever stored, never the
+ * original bytes. Failed processing or uploads are retried with exponential backoff
+ * before the image is marked FAILED. Each task holds a slot from submission until it
+ * finishes, so the pool never rejects work and never runs it on the caller; when all
+ * slots are taken the submission itself is refused.
+ */
+@Service
+public class ImageUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageUploadService.class);
+
+    static final String REPORT_IMAGES_FOLDER = "report-images";
+    static final String REPORT_THUMBNAILS_FOLDER = "report-thumbnails";
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ReportResponseCache reportResponseCache;
+
+    @Value("${app.storage.upload.threads:4}")
+    private int uploadThreads;
+
+    @Value("${app.storage.upload.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.storage.upload.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.storage.upload.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${app.storage.upload.stale-after-ms:1800000}")
+    private long staleAfterMs;
+
+    private ThreadPoolExecutor uploadExecutor;
+    private ScheduledExecutorService retryScheduler;
+    private Semaphore slots;
+
+    @PostConstruct
+    public void init() {
+        // Slots cover every running and queued task (and tasks waiting out a backoff),
+        // bounding the image bytes held in memory without blocking producers
+        slots = new Semaphore(uploadThreads + queueCapacity);
+        uploadExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("image-upload-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("image-upload-retry").daemon().factory());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryScheduler.shutdown();
+        uploadExecutor.shutdown();
+        if (!uploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Image uploads still running at shutdown: {}", uploadExecutor.getActiveCount());
+        }
+    }
+
+    /**
+     * Marks the report as awaiting its image and schedules the upload for after the
+     * surrounding transaction commits. The multipart body is copied now because the
+     * container deletes its temp file when the request ends.
+     *
+     * @throws UploadQueueFullException if every upload slot is taken; the caller's
+     *         transaction should roll back so the client can retry later
+     * @throws ImageProcessingService.InvalidImageException if the header shows the image
+     *         cannot be decoded or is over the pixel limit
+     */
+    public void uploadAfterCommit(Report report, MultipartFile image) throws IOException {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Asynchronous image upload requires an active transaction");
+        }
+        if (!slots.tryAcquire()) {
+            throw new UploadQueueFullException("Image upload queue is full");
+        }
+
+        UploadTask task;
+        try {
+            byte[] data = image.getBytes();
+            imageProcessingService.validate(data);
+            task = new UploadTask(data);
+        } catch (IOException | RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        report.setImageStatus(Report.ImageStatus.PENDING);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The id is only assigned once the report has been saved
+                task.reportId = report.getId();
+                submit(task);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    slots.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Normalizes and uploads the image and its thumbnail on the calling thread. Nothing is
+     * stored if processing fails.
+     *
+     * @throws ImageProcessingService.InvalidImageException if the image cannot be decoded or
+     *         is over the pixel limit
+     * @throws IOException if processing times out, the pool is saturated or the upload fails
+     */
+    public StoredImage store(byte[] data) throws IOException {
+        return upload(imageProcessingService.process(data));
+    }
+
+    private StoredImage upload(ImageProcessingService.ProcessedImage processed) throws IOException {
+        String filename = "image" + ImageProcessingService.OUTPUT_EXTENSION;
+        String contentType = ImageProcessingService.OUTPUT_CONTENT_TYPE;
+        String imageUrl = storageBackend.store(new ByteArrayInputStream(processed.getImage()),
+                processed.getImage().length, filename, contentType, REPORT_IMAGES_FOLDER);
+
+        try {
+            String thumbnailUrl = storageBackend.store(new ByteArrayInputStream(processed.getThumbnail()),
+                    processed.getThumbnail().length, filename, contentType, REPORT_THUMBNAILS_FOLDER);
+            return new StoredImage(imageUrl, thumbnailUrl);
+        } catch (IOException e) {
+            // Leave nothing half-stored so a retry starts clean
+            storageBackend.delete(imageUrl);
+            throw e;
+        }
+    }
+
+    private void submit(UploadTask task) {
+        try {
+            uploadExecutor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            // Only happens once the pool is shutting down; the stale-image sweep picks the row up
+            logger.warn("Upload pool shut down, dropping image upload for report {}", task.reportId);
+            slots.release();
+        }
+    }
+
+    private void run(UploadTask task) {
+        task.attempts++;
+        StoredImage stored;
+        try {
+            if (task.processed == null) {
+                // Process once; retries only repeat the upload
+                task.processed = imageProcessingService.process(task.data);
+                task.data = null;
+            }
+            stored = upload(task.processed);
+        } catch (ImageProcessingService.InvalidImageException e) {
+            // Retrying will not make the image decodable
+            markFailed(task, e);
+            return;
+        } catch (Exception e) {
+            scheduleRetry(task, e);
+            return;
+        }
+
+        int updated;
+        try {
+            updated = reportRepository.updateImage(task.reportId, stored.getImageUrl(), stored.getThumbnailUrl(),
+                    Report.ImageStatus.UPLOADED, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        } catch (RuntimeException e) {
+            // The row still points at nothing; drop the blobs and go through the retry path
+            deleteStored(stored);
+            scheduleRetry(task, e);
+            return;
+        }
+        // The report may have been resolved and cached while the upload was in flight
+        reportResponseCache.invalidate(task.reportId);
+        if (updated == 0) {
+            // Report was deleted while the upload was in flight
+            logger.info("Report {} no longer exists, removing orphaned image {}", task.reportId, stored.getImageUrl());
+            deleteStored(stored);
+        } else {
+            logger.info("Uploaded image for report {} after {} attempt(s): {}", task.reportId, task.attempts,
+                    stored.getImageUrl());
+        }
+        slots.release();
+    }
+
+    private void scheduleRetry(UploadTask task, Exception cause) {
+        if (task.attempts >= maxAttempts || retryScheduler.isShutdown()) {
+            markFailed(task, cause);
+            return;
+        }
+
+        long delayMs = initialBackoffMs << Math.min(task.attempts - 1, 10);
+        logger.warn("Image upload for report {} failed (attempt {}), retrying in {} ms: {}",
+                task.reportId, task.attempts, delayMs, cause.getMessage());
+        try {
+            retryScheduler.schedule(() -> submit(task), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Retry scheduler shut down, dropping image upload for report {}", task.reportId);
+            slots.release();
+        }
+    }
+
+    private void markFailed(UploadTask task, Exception cause) {
+        logger.error("Giving up on image upload for report {} after {} attempts", task.reportId, task.attempts, cause);
+        try {
+            reportRepository.updateImage(task.reportId, null, null, Report.ImageStatus.FAILED,
+                    LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+            reportResponseCache.invalidate(task.reportId);
+        } catch (RuntimeException e) {
+            // Row stays PENDING until the stale-image sweep marks it
+            logger.error("Could not mark image FAILED for report {}", task.reportId, e);
+        }
+        slots.release();
+    }
+
+    /**
+     * Upload tasks live only in memory, so a restart or crash leaves their reports PENDING
+     * forever. Runs at startup and periodically; anything PENDING for longer than any live
+     * task could take is marked FAILED.
+     */
+    @Scheduled(fixedDelayString = "${app.storage.upload.stale-sweep-interval-ms:300000}")
+    public void failStalePendingImages() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleAfterMs, ChronoUnit.MILLIS);
+        List<Long> ids = reportRepository.findIdsByImageStatusAndSubmittedAtBefore(
+                Report.ImageStatus.PENDING, cutoff);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        int updated = reportRepository.updateImageStatus(ids, Report.ImageStatus.PENDING, Report.ImageStatus.FAILED,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        ids.forEach(reportResponseCache::invalidate);
+        logger.warn("Marked {} stale PENDING report image(s) as FAILED", updated);
+    }
+
+    private void deleteStored(StoredImage stored) {
+        storageBackend.delete(stored.getImageUrl());
+        if (stored.getThumbnailUrl() != null) {
+            storageBackend.delete(stored.getThumbnailUrl());
+        }
+    }
+
+    public static class UploadQueueFullException extends RuntimeException {
+        public UploadQueueFullException(String message) {
+            super(message);
+        }
+    }
+
+    public static class StoredImage {
+        private final String imageUrl;
+        private final String thumbnailUrl;
+
+        public StoredImage(String imageUrl, String thumbnailUrl) {
+            this.imageUrl = imageUrl;
+            this.thumbnailUrl = thumbnailUrl;
+        }
+
+        public String getImageUrl() { return imageUrl; }
+
+        public String getThumbnailUrl() { return thumbnailUrl; }
+    }
+
+    private static final class UploadTask {
+        private volatile byte[] data;
+        private volatile ImageProcessingService.ProcessedImage processed;
+        private volatile Long reportId;
+        private volatile int attempts;
+
+        private UploadTask(byte[] data) {
+            this.data = data;
+        }
+    }
+}
\ No newline at end of file
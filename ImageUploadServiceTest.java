@@ -0,0 +1,64 @@
+package com.smartbin.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageUploadServiceTest {
+
+    @Test
+    void storesOnlyTheProcessedImage() throws IOException {
+        ImageProcessingService processing = mock(ImageProcessingService.class);
+        StorageBackend storage = mock(StorageBackend.class);
+        byte[] original = {1, 2, 3, 4};
+        when(processing.process(original)).thenReturn(
+                new ImageProcessingService.ProcessedImage(new byte[] {5, 6}, new byte[] {7}));
+        when(storage.store(any(InputStream.class), anyLong(), any(), any(), eq(ImageUploadService.REPORT_IMAGES_FOLDER)))
+                .thenReturn("https://blob/image");
+        when(storage.store(any(InputStream.class), anyLong(), any(), any(), eq(ImageUploadService.REPORT_THUMBNAILS_FOLDER)))
+                .thenReturn("https://blob/thumbnail");
+
+        ImageUploadService.StoredImage stored = service(processing, storage).store(original);
+
+        assertThat(stored.getImageUrl()).isEqualTo("https://blob/image");
+        assertThat(stored.getThumbnailUrl()).isEqualTo("https://blob/thumbnail");
+        verify(storage).store(any(InputStream.class), eq(2L), any(), eq(ImageProcessingService.OUTPUT_CONTENT_TYPE),
+                eq(ImageUploadService.REPORT_IMAGES_FOLDER));
+    }
+
+    @Test
+    void neverStoresTheOriginalWhenProcessingFails() throws IOException {
+        ImageProcessingService processing = mock(ImageProcessingService.class);
+        StorageBackend storage = mock(StorageBackend.class);
+        byte[] saturated = {1, 2, 3, 4};
+        byte[] undecodable = {9, 9};
+        when(processing.process(saturated)).thenThrow(new IOException("Image processing queue is full"));
+        when(processing.process(undecodable))
+                .thenThrow(new ImageProcessingService.InvalidImageException("Unsupported image format"));
+        ImageUploadService service = service(processing, storage);
+
+        assertThatThrownBy(() -> service.store(saturated)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> service.store(undecodable))
+                .isInstanceOf(ImageProcessingService.InvalidImageException.class);
+        verify(storage, never()).store(any(InputStream.class), anyLong(), any(), any(), any());
+    }
+
+    private static ImageUploadService service(ImageProcessingService processing, StorageBackend storage) {
+        ImageUploadService service = new ImageUploadService();
+        ReflectionTestUtils.setField(service, "imageProcessingService", processing);
+        ReflectionTestUtils.setField(service, "storageBackend", storage);
+        return service;
+    }
+}
\ No newline at end of file
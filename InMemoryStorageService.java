@@ -0,0 +1,113 @@
+package com.smartbin.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps files in memory, with a configurable delay per call standing in for blob storage
+ * round trips. Meant for load tests and local profiling ({@code app.storage.backend=memory});
+ * nothing survives a restart.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "memory")
+public class InMemoryStorageService implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryStorageService.class);
+
+    public static final String URL_PREFIX = "memory://";
+
+    @Value("${app.storage.memory.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${app.storage.memory.latency-jitter-ms:0}")
+    private long latencyJitterMs;
+
+    @Autowired
+    @Qualifier("storageBulkhead")
+    private Bulkhead storageBulkhead;
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+    @Override
+    public String store(InputStream data, long size, String originalFilename, String contentType, String folder)
+            throws IOException {
+        String fileExtension = StorageBackend.extensionFor(contentType);
+        String fileUrl = URL_PREFIX + folder + "/" + UUID.randomUUID().toString() + fileExtension;
+
+        byte[] bytes = data.readAllBytes();
+        simulateLatency();
+        files.put(fileUrl, bytes);
+        logger.debug("Stored {} bytes in memory: {}", bytes.length, fileUrl);
+        return fileUrl;
+    }
+
+    @Override
+    public boolean delete(String fileUrl) {
+        try {
+            simulateLatency();
+        } catch (IOException e) {
+            return false;
+        }
+        return fileUrl != null && files.remove(fileUrl) != null;
+    }
+
+    @Override
+    public boolean exists(String fileUrl) {
+        try {
+            simulateLatency();
+        } catch (IOException e) {
+            return false;
+        }
+        return fileUrl != null && files.containsKey(fileUrl);
+    }
+
+    @Override
+    public void download(String fileUrl, Path target) throws IOException {
+        simulateLatency();
+        byte[] bytes = fileUrl != null ? files.get(fileUrl) : null;
+        if (bytes == null) {
+            throw new IOException("File not found in memory storage: " + fileUrl);
+        }
+        Files.write(target, bytes);
+    }
+
+    public int size() {
+        return files.size();
+    }
+
+    private void simulateLatency() throws IOException {
+        long delay = latencyMs + (latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        // Goes through the same bulkhead as real blob calls so load tests see its queueing
+        try {
+            storageBulkhead.acquire();
+        } catch (Bulkhead.BulkheadFullException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during simulated storage latency");
+        } finally {
+            storageBulkhead.release();
+        }
+    }
+}
\ No newline at end of file
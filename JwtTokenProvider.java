@@ -2,8 +2,12 @@ package com.smartbin.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -22,8 +26,26 @@ public class JwtTokenProvider {
     @Value("${app.jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Key and parser are immutable and thread-safe, so derive them once
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 
     public String generateToken(Authentication authentication) {
@@ -50,33 +72,69 @@ public class JwtTokenProvider {
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
         return claims.getSubject();
     }
 
     public boolean validateToken(String authToken) {
+        return validateAndGetClaims(authToken) != null;
+    }
+
+    /**
+     * Returns the username of a valid token, or {@code null}. Tokens verified before are
+     * answered from {@link VerifiedTokenCache} without parsing or HMAC verification.
+     */
+    public String getVerifiedUsername(String authToken) {
+        String cached = verifiedTokenCache.getUsername(authToken);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = validateAndGetClaims(authToken);
+        if (claims == null) {
+            return null;
+        }
+
+        if (claims.getExpiration() != null) {
+            verifiedTokenCache.put(authToken, claims.getSubject(), claims.getExpiration().getTime());
+        }
+        return claims.getSubject();
+    }
+
+    /**
+     * Parses and verifies the token once, returning its claims or {@code null} if invalid.
+     */
+    public Claims validateAndGetClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature: {}", ex.getMessage());
+            recordFailure("signature");
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token: {}", ex.getMessage());
+            recordFailure("malformed");
         } catch (ExpiredJwtException ex) {
             logger.error("Expired JWT token: {}", ex.getMessage());
+            recordFailure("expired");
         } catch (UnsupportedJwtException ex) {
             logger.error("Unsupported JWT token: {}", ex.getMessage());
+            recordFailure("unsupported");
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty: {}", ex.getMessage());
+            recordFailure("empty");
+        } catch (JwtException ex) {
+            logger.error("Invalid JWT signature: {}", ex.getMessage());
+            recordFailure("signature");
         }
-        return false;
+        return null;
+    }
+
+    private void recordFailure(String reason) {
+        Counter.builder("jwt.validation.failures")
+                .description("Rejected JWTs by reason")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
     }
 } 
\ No newline at end of file
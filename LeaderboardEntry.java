@@ -0,0 +1,27 @@
+package com.smartbin.dto;
+
+public class LeaderboardEntry {
+    
+    private int rank;
+    private String username;
+    private long points;
+    
+    // Constructors
+    public LeaderboardEntry() {}
+    
+    public LeaderboardEntry(int rank, String username, long points) {
+        this.rank = rank;
+        this.username = username;
+        this.points = points;
+    }
+    
+    // Getters and Setters
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+    
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    
+    public long getPoints() { return points; }
+    public void setPoints(long points) { this.points = points; }
+}
\ No newline at end of file
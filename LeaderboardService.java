@@ -0,0 +1,249 @@
+package com.smartbin.service;
+
+import com.smartbin.dto.LeaderboardEntry;
+import com.smartbin.event.PointsEvent;
+import com.smartbin.event.UserEvent;
+import com.smartbin.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory points leaderboard. Built from the database at startup (including ledger
+ * entries not yet compacted) and then moved by committed {@link PointsEvent}s, so top-N
+ * and rank lookups never sort the users table. Points events are deltas and cannot be
+ * replayed safely if the snapshot may already hold them, so a rebuild that overlaps a
+ * points commit is thrown away and retried; user events are replayed as in the indexes.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final int REBUILD_ATTEMPTS = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RankingTree ranking = new RankingTree();
+    private final Map<Long, Standing> standings = new HashMap<>();
+
+    // Points writes between BEFORE_COMMIT and AFTER_COMPLETION, and points writes ever started
+    private final AtomicLong writesInFlight = new AtomicLong();
+    private final AtomicLong writesStarted = new AtomicLong();
+    // Events seen while a rebuild is querying; replayed after the snapshot is loaded
+    private List<Object> missedDuringRebuild;
+    private volatile boolean stale = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (int attempt = 1; attempt <= REBUILD_ATTEMPTS; attempt++) {
+            // The last attempt loads regardless: a possibly-off leaderboard beats an empty one,
+            // and it stays marked stale for the scheduled retry
+            if (tryRebuild(attempt == REBUILD_ATTEMPTS)) {
+                return;
+            }
+            logger.debug("Points committed during leaderboard rebuild, retrying (attempt {})", attempt);
+        }
+        logger.warn("Leaderboard rebuilt while points were being committed; will rebuild again");
+    }
+
+    @Scheduled(fixedDelayString = "${app.leaderboard.stale-rebuild-interval-ms:60000}",
+               initialDelayString = "${app.leaderboard.stale-rebuild-interval-ms:60000}")
+    public void rebuildIfStale() {
+        if (stale) {
+            rebuild();
+        }
+    }
+
+    private boolean tryRebuild(boolean force) {
+        long startedBefore;
+        boolean quiet;
+        lock.writeLock().lock();
+        try {
+            // Start buffering before the query so nothing committed after its snapshot is lost
+            missedDuringRebuild = new ArrayList<>();
+            startedBefore = writesStarted.get();
+            quiet = writesInFlight.get() == 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Object[]> rows = null;
+        boolean consistent = false;
+        try {
+            rows = userRepository.findAllPoints();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // A points write in flight when the query started, or begun while it ran, may or
+                // may not be in the result; one begun afterwards is not, and is buffered if it landed
+                consistent = quiet && writesStarted.get() == startedBefore;
+                if (rows != null && (consistent || force)) {
+                    ranking.clear();
+                    standings.clear();
+                    for (Object[] row : rows) {
+                        standings.put((Long) row[0], new Standing((String) row[1], ((Number) row[2]).longValue()));
+                    }
+                    standings.forEach((userId, standing) -> ranking.insert(userId, standing.points));
+                    missedDuringRebuild.forEach(this::apply);
+                    stale = !consistent;
+                    logger.info("Leaderboard built with {} users ({} events replayed)", standings.size(),
+                            missedDuringRebuild.size());
+                }
+                missedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return consistent;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforePointsCommit(PointsEvent event) {
+        writesStarted.incrementAndGet();
+        writesInFlight.incrementAndGet();
+        // Runs after the AFTER_COMMIT listeners, and on a failed commit too
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                writesInFlight.decrementAndGet();
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onPointsEvent(PointsEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener
+    public void onUserEvent(UserEvent event) {
+        record(event);
+    }
+
+    private void record(Object event) {
+        lock.writeLock().lock();
+        try {
+            if (missedDuringRebuild != null) {
+                missedDuringRebuild.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof PointsEvent pointsEvent) {
+            applyPoints(pointsEvent);
+        } else {
+            applyUser((UserEvent) event);
+        }
+    }
+
+    private void applyPoints(PointsEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        Standing standing = standings.get(event.getUserId());
+        if (standing == null) {
+            standing = new Standing(event.getUsername(), 0);
+            standings.put(event.getUserId(), standing);
+        } else {
+            ranking.remove(event.getUserId(), standing.points);
+        }
+        standing.points += event.getDelta();
+        ranking.insert(event.getUserId(), standing.points);
+    }
+
+    // Idempotent, so replaying one the snapshot already reflects is harmless
+    private void applyUser(UserEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        Standing standing = standings.get(event.getUserId());
+        switch (event.getType()) {
+            case CREATED:
+                if (standing == null) {
+                    standings.put(event.getUserId(), new Standing(event.getUsername(), 0));
+                    ranking.insert(event.getUserId(), 0);
+                }
+                break;
+            case DELETED:
+                if (standing != null) {
+                    standings.remove(event.getUserId());
+                    ranking.remove(event.getUserId(), standing.points);
+                }
+                break;
+            case UPDATED:
+                if (standing != null && event.getUsername() != null) {
+                    standing.username = event.getUsername();
+                }
+                break;
+        }
+    }
+
+    public List<LeaderboardEntry> getTop(int limit) {
+        lock.readLock().lock();
+        try {
+            List<long[]> top = ranking.top(limit);
+            return IntStream.range(0, top.size())
+                    .mapToObj(i -> new LeaderboardEntry(i + 1, standings.get(top.get(i)[0]).username, top.get(i)[1]))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<LeaderboardEntry> getStanding(Long userId) {
+        lock.readLock().lock();
+        try {
+            Standing standing = standings.get(userId);
+            if (standing == null) {
+                return Optional.empty();
+            }
+            int rank = ranking.rank(userId, standing.points);
+            return Optional.of(new LeaderboardEntry(rank, standing.username, standing.points));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Standing {
+        private String username;
+        private long points;
+
+        private Standing(String username, long points) {
+            this.username = username;
+            this.points = points;
+        }
+    }
+}
\ No newline at end of file
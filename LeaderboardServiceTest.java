@@ -0,0 +1,81 @@
+package com.smartbin.service;
+
+import com.smartbin.event.PointsEvent;
+import com.smartbin.event.UserEvent;
+import com.smartbin.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Writes that commit while a rebuild is reading the users table must be counted exactly once.
+ */
+class LeaderboardServiceTest {
+
+    @Test
+    void replaysUserEventsFromDuringRebuild() {
+        UserRepository repository = mock(UserRepository.class);
+        LeaderboardService leaderboard = leaderboard(repository);
+        when(repository.findAllPoints()).thenAnswer(invocation -> {
+            leaderboard.onUserEvent(new UserEvent(UserEvent.Type.DELETED, 2L, "bea"));
+            leaderboard.onUserEvent(new UserEvent(UserEvent.Type.CREATED, 3L, "cal"));
+            return List.of(row(1L, "ada", 10L), row(2L, "bea", 5L));
+        });
+
+        leaderboard.rebuild();
+
+        assertThat(leaderboard.size()).isEqualTo(2);
+        assertThat(leaderboard.getStanding(2L)).isEmpty();
+        assertThat(leaderboard.getStanding(3L)).isPresent();
+    }
+
+    @Test
+    void retriesWhenPointsCommitDuringRebuild() {
+        UserRepository repository = mock(UserRepository.class);
+        LeaderboardService leaderboard = leaderboard(repository);
+        PointsEvent award = new PointsEvent(1L, "ada", 15);
+        when(repository.findAllPoints())
+                .thenAnswer(invocation -> {
+                    // Commits while the query runs: the first result may or may not contain it
+                    commit(leaderboard, award);
+                    return List.<Object[]>of(row(1L, "ada", 10L));
+                })
+                .thenReturn(List.<Object[]>of(row(1L, "ada", 25L)));
+
+        leaderboard.rebuild();
+
+        verify(repository, times(2)).findAllPoints();
+        assertThat(leaderboard.getStanding(1L)).hasValueSatisfying(entry -> assertThat(entry.getPoints()).isEqualTo(25));
+    }
+
+    private static void commit(LeaderboardService leaderboard, PointsEvent event) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboard.beforePointsCommit(event);
+            leaderboard.onPointsEvent(event);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static LeaderboardService leaderboard(UserRepository repository) {
+        LeaderboardService leaderboard = new LeaderboardService();
+        ReflectionTestUtils.setField(leaderboard, "userRepository", repository);
+        return leaderboard;
+    }
+
+    private static Object[] row(Long id, String username, Long points) {
+        return new Object[] {id, username, points};
+    }
+}
\ No newline at end of file
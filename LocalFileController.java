@@ -0,0 +1,46 @@
+package com.smartbin.controller.api;
+
+import com.smartbin.service.FileResponseWriter;
+import com.smartbin.service.LocalStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/files")
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalFileController {
+
+    @Autowired
+    private LocalStorageService localStorageService;
+
+    @Autowired
+    private FileResponseWriter fileResponseWriter;
+
+    @RequestMapping(value = "/**", method = { RequestMethod.GET, RequestMethod.HEAD })
+    public void getFile(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String relativePath = request.getRequestURI().substring(
+                request.getContextPath().length() + LocalStorageService.URL_PREFIX.length());
+
+        Path file = localStorageService.resolve(relativePath);
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+        // Report photos are not public: shared caches must not keep them
+        response.setHeader("Cache-Control", "private, max-age=31536000, immutable");
+        fileResponseWriter.write(file, contentType, request, response);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.smartbin.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Stores files under {@code app.storage.upload-dir} for deployments without Azure. Files are
+ * written to a temp file through a {@link FileChannel} and moved into place atomically, and
+ * are served by {@code LocalFileController} under {@link #URL_PREFIX}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalStorageService implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageService.class);
+
+    public static final String URL_PREFIX = "/api/files/";
+
+    @Value("${app.storage.upload-dir}")
+    private String uploadDir;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        logger.info("Local storage root: {}", root);
+    }
+
+    @Override
+    public String store(InputStream data, long size, String originalFilename, String contentType, String folder)
+            throws IOException {
+        String fileExtension = StorageBackend.extensionFor(contentType);
+        String fileName = folder + "/" + UUID.randomUUID().toString() + fileExtension;
+
+        Path target = resolve(fileName);
+        if (target == null) {
+            throw new IOException("Invalid storage path: " + fileName);
+        }
+        Files.createDirectories(target.getParent());
+
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try (ReadableByteChannel source = Channels.newChannel(data);
+             FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferFrom(source, position, size - position);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+            channel.force(false);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            logger.error("Error writing file to local storage", e);
+            throw new IOException("Failed to write file to local storage: " + e.getMessage(), e);
+        }
+
+        String fileUrl = URL_PREFIX + fileName;
+        logger.info("Successfully stored file: {}", fileUrl);
+        return fileUrl;
+    }
+
+    @Override
+    public boolean delete(String fileUrl) {
+        Path file = resolveUrl(fileUrl);
+        if (file == null) {
+            logger.warn("Could not resolve local file from URL: {}", fileUrl);
+            return false;
+        }
+        try {
+            boolean deleted = Files.deleteIfExists(file);
+            if (deleted) {
+                logger.info("Successfully deleted file: {}", fileUrl);
+            } else {
+                logger.warn("File not found for deletion: {}", fileUrl);
+            }
+            return deleted;
+        } catch (IOException e) {
+            logger.error("Error deleting file from local storage", e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean exists(String fileUrl) {
+        Path file = resolveUrl(fileUrl);
+        return file != null && Files.isRegularFile(file);
+    }
+
+    @Override
+    public void download(String fileUrl, Path target) throws IOException {
+        Path file = resolveUrl(fileUrl);
+        if (file == null || !Files.isRegularFile(file)) {
+            throw new IOException("File not found in local storage: " + fileUrl);
+        }
+        Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Maps a stored path (relative to the storage root) to a file, or {@code null} if it
+     * would escape the root.
+     */
+    public Path resolve(String relativePath) {
+        Path file = root.resolve(relativePath).normalize();
+        return file.startsWith(root) && !file.equals(root) ? file : null;
+    }
+
+    private Path resolveUrl(String fileUrl) {
+        if (fileUrl == null || !fileUrl.startsWith(URL_PREFIX)) {
+            return null;
+        }
+        return resolve(fileUrl.substring(URL_PREFIX.length()));
+    }
+}
\ No newline at end of file
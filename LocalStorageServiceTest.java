@@ -0,0 +1,49 @@
+package com.smartbin.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Test
+    void namesFilesFromTheContentTypeNotTheClientFilename() throws IOException {
+        LocalStorageService storage = storage();
+        Path existing = Files.createDirectories(uploadDir.resolve("report-images")).resolve("victim.jpg");
+        Files.write(existing, new byte[] {9});
+
+        String url = storage.store(new ByteArrayInputStream(new byte[] {1, 2}), 2,
+                "x./../report-images/victim.jpg", "image/jpeg", "report-images");
+
+        assertThat(url).startsWith(LocalStorageService.URL_PREFIX + "report-images/").endsWith(".jpg")
+                .doesNotContain("..").doesNotContain("victim");
+        assertThat(Files.readAllBytes(existing)).containsExactly(9);
+    }
+
+    @Test
+    void rejectsContentTypesOutsideTheAllowList() throws IOException {
+        LocalStorageService storage = storage();
+
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream(new byte[] {1}), 1,
+                "page.html", "text/html", "report-images"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private LocalStorageService storage() throws IOException {
+        LocalStorageService storage = new LocalStorageService();
+        ReflectionTestUtils.setField(storage, "uploadDir", uploadDir.toString());
+        storage.init();
+        return storage;
+    }
+}
\ No newline at end of file
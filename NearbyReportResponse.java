@@ -0,0 +1,55 @@
+package com.smartbin.dto;
+
+import com.smartbin.model.Report;
+import com.smartbin.service.ReportSpatialIndex;
+
+public class NearbyReportResponse {
+    
+    private Long id;
+    private String location;
+    private Report.WasteType wasteType;
+    private Report.UrgencyLevel urgency;
+    private Report.ReportStatus status;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceMeters;
+    
+    // Constructors
+    public NearbyReportResponse() {}
+    
+    public NearbyReportResponse(ReportSpatialIndex.Entry entry) {
+        this.id = entry.getId();
+        this.location = entry.getLocation();
+        this.wasteType = entry.getWasteType();
+        this.urgency = entry.getUrgency();
+        this.status = entry.getStatus();
+        this.latitude = entry.getLatitude();
+        this.longitude = entry.getLongitude();
+        this.distanceMeters = entry.getDistanceMeters();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public Report.WasteType getWasteType() { return wasteType; }
+    public void setWasteType(Report.WasteType wasteType) { this.wasteType = wasteType; }
+    
+    public Report.UrgencyLevel getUrgency() { return urgency; }
+    public void setUrgency(Report.UrgencyLevel urgency) { this.urgency = urgency; }
+    
+    public Report.ReportStatus getStatus() { return status; }
+    public void setStatus(Report.ReportStatus status) { this.status = status; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public Double getDistanceMeters() { return distanceMeters; }
+    public void setDistanceMeters(Double distanceMeters) { this.distanceMeters = distanceMeters; }
+}
\ No newline at end of file
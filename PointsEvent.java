@@ -0,0 +1,21 @@
+package com.smartbin.event;
+
+public class PointsEvent {
+
+    private final Long userId;
+    private final String username;
+    private final int delta;
+
+    public PointsEvent(Long userId, String username, int delta) {
+        this.userId = userId;
+        this.username = username;
+        this.delta = delta;
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+
+    public String getUsername() { return username; }
+
+    public int getDelta() { return delta; }
+}
\ No newline at end of file
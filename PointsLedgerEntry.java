@@ -0,0 +1,63 @@
+package com.smartbin.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable record of a points change. Entries are appended without touching the user
+ * row; {@code applied} flips once the delta has been folded into {@code users.points}.
+ */
+@Entity
+@Table(name = "points_ledger", indexes = {
+    @Index(name = "idx_points_ledger_applied_id", columnList = "applied, id"),
+    @Index(name = "idx_points_ledger_user_applied", columnList = "user_id, applied")
+})
+public class PointsLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "points_ledger_seq")
+    @SequenceGenerator(name = "points_ledger_seq", sequenceName = "points_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "delta", nullable = false, updatable = false)
+    private int delta;
+
+    @Size(max = 255)
+    @Column(name = "reason", updatable = false)
+    private String reason;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "applied", nullable = false)
+    private boolean applied;
+
+    // Constructors
+    protected PointsLedgerEntry() {}
+
+    public PointsLedgerEntry(Long userId, int delta, String reason, boolean applied) {
+        this.userId = userId;
+        this.delta = delta;
+        this.reason = reason != null && reason.length() > 255 ? reason.substring(0, 255) : reason;
+        this.applied = applied;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public Long getUserId() { return userId; }
+
+    public int getDelta() { return delta; }
+
+    public String getReason() { return reason; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public boolean isApplied() { return applied; }
+}
\ No newline at end of file
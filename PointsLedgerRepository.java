@@ -0,0 +1,29 @@
+package com.smartbin.repository;
+
+import com.smartbin.model.PointsLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long> {
+    
+    @Query("SELECT MAX(e.id) FROM PointsLedgerEntry e WHERE e.applied = false")
+    Long findMaxUnappliedId();
+    
+    // Rows of [userId, sum(delta), count], ordered by user so balance updates lock in a stable order
+    @Query("SELECT e.userId, SUM(e.delta), COUNT(e) FROM PointsLedgerEntry e " +
+           "WHERE e.applied = false AND e.id <= :maxId GROUP BY e.userId ORDER BY e.userId")
+    List<Object[]> sumUnappliedByUser(@Param("maxId") Long maxId);
+    
+    @Modifying
+    @Query("UPDATE PointsLedgerEntry e SET e.applied = true WHERE e.applied = false AND e.id <= :maxId")
+    int markApplied(@Param("maxId") Long maxId);
+    
+    @Query("SELECT COALESCE(SUM(e.delta), 0) FROM PointsLedgerEntry e WHERE e.userId = :userId AND e.applied = false")
+    long sumUnappliedForUser(@Param("userId") Long userId);
+}
\ No newline at end of file
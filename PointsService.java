@@ -1,12 +1,26 @@
 package com.smartbin.service;
 
+import com.smartbin.event.PointsEvent;
+import com.smartbin.event.UserEvent;
+import com.smartbin.model.PointsLedgerEntry;
 import com.smartbin.model.User;
+import com.smartbin.repository.PointsLedgerRepository;
+import com.smartbin.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+/**
+ * Points are recorded as append-only {@link PointsLedgerEntry} rows. Awards never touch the
+ * user row, so a hot user does not serialize writers; a scheduled compaction folds pending
+ * entries into {@code users.points} with one atomic increment per user per cycle.
+ */
 @Service
 @Transactional
 public class PointsService {
@@ -14,7 +28,13 @@ public class PointsService {
     private static final Logger logger = LoggerFactory.getLogger(PointsService.class);
 
     @Autowired
-    private UserService userService;
+    private UserRepository userRepository;
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public void awardPoints(User user, int points, String reason) {
         if (user == null) {
@@ -28,11 +48,11 @@ public class PointsService {
         }
 
         try {
-            int oldPoints = user.getPoints();
-            userService.addPointsToUser(user, points);
+            // Insert joins the caller's transaction, so an award commits (or rolls back) with it
+            pointsLedgerRepository.save(new PointsLedgerEntry(user.getId(), points, reason, false));
+            eventPublisher.publishEvent(new PointsEvent(user.getId(), user.getUsername(), points));
             
-            logger.info("Awarded {} points to user {} ({}). Old balance: {}, New balance: {}", 
-                       points, user.getUsername(), reason, oldPoints, user.getPoints());
+            logger.info("Awarded {} points to user {} ({})", points, user.getUsername(), reason);
         } catch (Exception e) {
             logger.error("Failed to award points to user: {}", user.getUsername(), e);
             throw new RuntimeException("Failed to award points: " + e.getMessage(), e);
@@ -40,7 +60,7 @@ public class PointsService {
     }
 
     public boolean canRedeem(User user, int pointsCost) {
-        return user != null && user.getPoints() >= pointsCost;
+        return user != null && getUserPoints(user) >= pointsCost;
     }
 
     public void redeemPoints(User user, int pointsCost, String item) {
@@ -48,13 +68,18 @@ public class PointsService {
             throw new RuntimeException("Insufficient points for redemption");
         }
 
+        // Conditional decrement against balance plus pending awards; cannot overdraw even with
+        // concurrent redemptions, and leaves other users' pending entries to the compactor
+        if (userRepository.deductPoints(user.getId(), pointsCost) == 0) {
+            throw new RuntimeException("Insufficient points for redemption");
+        }
+
         try {
-            int oldPoints = user.getPoints();
-            user.setPoints(oldPoints - pointsCost);
-            userService.updateUser(user);
+            pointsLedgerRepository.save(new PointsLedgerEntry(user.getId(), -pointsCost, "Redeemed: " + item, true));
+            eventPublisher.publishEvent(new PointsEvent(user.getId(), user.getUsername(), -pointsCost));
+            publishBalanceChanged(user.getId());
             
-            logger.info("User {} redeemed {} points for {}. Old balance: {}, New balance: {}", 
-                       user.getUsername(), pointsCost, item, oldPoints, user.getPoints());
+            logger.info("User {} redeemed {} points for {}", user.getUsername(), pointsCost, item);
         } catch (Exception e) {
             logger.error("Failed to redeem points for user: {}", user.getUsername(), e);
             throw new RuntimeException("Failed to redeem points: " + e.getMessage(), e);
@@ -62,7 +87,51 @@ public class PointsService {
     }
 
     public int getUserPoints(User user) {
-        return user != null ? user.getPoints() : 0;
+        if (user == null) {
+            return 0;
+        }
+        long pending = user.getId() != null ? pointsLedgerRepository.sumUnappliedForUser(user.getId()) : 0;
+        int points = user.getPoints() != null ? user.getPoints() : 0;
+        return Math.toIntExact(points + pending);
+    }
+
+    /**
+     * Folds all pending ledger entries into user balances. If another compactor (or a late
+     * commit with a lower id) changed the pending set underneath us, the applied count no
+     * longer matches what was summed and the whole cycle rolls back to be retried.
+     */
+    @Scheduled(fixedDelayString = "${app.points.compaction-interval-ms:5000}")
+    public void compactLedger() {
+        Long maxId = pointsLedgerRepository.findMaxUnappliedId();
+        if (maxId == null) {
+            return;
+        }
+
+        List<Object[]> pendingByUser = pointsLedgerRepository.sumUnappliedByUser(maxId);
+        long expectedEntries = 0;
+        for (Object[] row : pendingByUser) {
+            Long userId = (Long) row[0];
+            int delta = Math.toIntExact((Long) row[1]);
+            expectedEntries += (Long) row[2];
+            if (delta != 0) {
+                userRepository.addPoints(userId, delta);
+            }
+        }
+
+        int applied = pointsLedgerRepository.markApplied(maxId);
+        if (applied != expectedEntries) {
+            throw new IllegalStateException("Points ledger changed during compaction (summed "
+                    + expectedEntries + ", applied " + applied + "), retrying next cycle");
+        }
+
+        for (Object[] row : pendingByUser) {
+            publishBalanceChanged((Long) row[0]);
+        }
+        logger.debug("Compacted {} ledger entries for {} users", applied, pendingByUser.size());
+    }
+
+    private void publishBalanceChanged(Long userId) {
+        eventPublisher.publishEvent(new UserEvent(UserEvent.Type.UPDATED, userId, null));
     }
 
     // Standard point values for different actions
@@ -0,0 +1,114 @@
+package com.smartbin.service;
+
+import com.smartbin.model.PointsLedgerEntry;
+import com.smartbin.model.User;
+import com.smartbin.repository.PointsLedgerRepository;
+import com.smartbin.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(PointsService.class)
+class PointsServiceTest {
+
+    @Autowired
+    private PointsService pointsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.saveAndFlush(new User("alice", "alice@example.com", "x", "Alice", "A"));
+        bob = userRepository.saveAndFlush(new User("bob", "bob@example.com", "x", "Bob", "B"));
+        userRepository.addPoints(alice.getId(), 10);
+        pointsLedgerRepository.saveAndFlush(new PointsLedgerEntry(alice.getId(), 20, "Report", false));
+        pointsLedgerRepository.saveAndFlush(new PointsLedgerEntry(bob.getId(), 15, "Report", false));
+    }
+
+    @Test
+    void redemptionSpendsPendingAwardsWithoutCompacting() {
+        pointsService.redeemPoints(reload(alice), 25, "Tote bag");
+
+        assertThat(storedPoints(alice)).isEqualTo(-15);
+        assertThat(pointsService.getUserPoints(reload(alice))).isEqualTo(5);
+        // Nobody's pending entries are folded in by a redemption
+        assertThat(pointsLedgerRepository.sumUnappliedForUser(alice.getId())).isEqualTo(20);
+        assertThat(pointsLedgerRepository.sumUnappliedForUser(bob.getId())).isEqualTo(15);
+    }
+
+    @Test
+    void redemptionCannotOverdrawBalancePlusPending() {
+        pointsService.redeemPoints(reload(alice), 25, "Tote bag");
+
+        assertThatThrownBy(() -> pointsService.redeemPoints(reload(alice), 10, "Water bottle"))
+                .hasMessage("Insufficient points for redemption");
+        assertThat(userRepository.deductPoints(alice.getId(), 6)).isZero();
+        assertThat(storedPoints(alice)).isEqualTo(-15);
+    }
+
+    @Test
+    void compactionAfterRedemptionRestoresStoredBalance() {
+        pointsService.redeemPoints(reload(alice), 25, "Tote bag");
+        pointsService.compactLedger();
+
+        assertThat(storedPoints(alice)).isEqualTo(5);
+        assertThat(storedPoints(bob)).isEqualTo(15);
+    }
+
+    @Test
+    void leaderboardSnapshotCountsPendingAwardsOnce() {
+        assertThat(totalsById()).containsEntry(alice.getId(), 30L).containsEntry(bob.getId(), 15L);
+
+        pointsService.compactLedger();
+
+        assertThat(totalsById()).containsEntry(alice.getId(), 30L).containsEntry(bob.getId(), 15L);
+    }
+
+    @Test
+    void addPointsTreatsNullBalanceAsZero() {
+        jdbcTemplate.update("UPDATE users SET points = NULL WHERE id = ?", bob.getId());
+
+        userRepository.addPoints(bob.getId(), 7);
+
+        assertThat(storedPoints(bob)).isEqualTo(7);
+    }
+
+    private Map<Long, Long> totalsById() {
+        return userRepository.findAllPoints().stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> ((Number) row[2]).longValue()));
+    }
+
+    private User reload(User user) {
+        // Balance updates are bulk UPDATEs, so drop the stale managed copy first
+        entityManager.clear();
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+
+    private int storedPoints(User user) {
+        return jdbcTemplate.queryForObject("SELECT points FROM users WHERE id = ?", Integer.class, user.getId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.smartbin.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic treap over (points descending, userId ascending). Every node tracks its
+ * subtree size, so insert, remove and rank are O(log n) expected and the top N entries
+ * are read in O(log n + N). Not thread-safe; {@link LeaderboardService} guards it.
+ */
+class RankingTree {
+
+    private Node root;
+
+    void insert(long userId, long points) {
+        Node[] parts = split(root, points, userId);
+        root = merge(merge(parts[0], new Node(userId, points)), parts[1]);
+    }
+
+    void remove(long userId, long points) {
+        root = remove(root, userId, points);
+    }
+
+    /**
+     * One-based position of the entry; ties on points are broken by user id.
+     */
+    int rank(long userId, long points) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(points, userId, node);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    List<long[]> top(int limit) {
+        List<long[]> result = new ArrayList<>(Math.min(limit, size()));
+        collect(root, limit, result);
+        return result;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    private void collect(Node node, int limit, List<long[]> result) {
+        if (node == null || result.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, result);
+        if (result.size() < limit) {
+            result.add(new long[] { node.userId, node.points });
+            collect(node.right, limit, result);
+        }
+    }
+
+    private Node remove(Node node, long userId, long points) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(points, userId, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, userId, points);
+        } else {
+            node.right = remove(node.right, userId, points);
+        }
+        update(node);
+        return node;
+    }
+
+    // Splits into entries ordered before the key and entries at or after it
+    private Node[] split(Node node, long points, long userId) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (compare(points, userId, node) > 0) {
+            Node[] parts = split(node.right, points, userId);
+            node.right = parts[0];
+            update(node);
+            return new Node[] { node, parts[1] };
+        }
+        Node[] parts = split(node.left, points, userId);
+        node.left = parts[1];
+        update(node);
+        return new Node[] { parts[0], node };
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    // Negative when (points, userId) ranks ahead of the node
+    private static int compare(long points, long userId, Node node) {
+        if (points != node.points) {
+            return points > node.points ? -1 : 1;
+        }
+        return Long.compare(userId, node.userId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static final class Node {
+        private final long userId;
+        private final long points;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long userId, long points) {
+            this.userId = userId;
+            this.points = points;
+        }
+    }
+}
\ No newline at end of file
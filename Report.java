@@ -5,12 +5,22 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+    @Index(name = "idx_reports_submitted", columnList = "submitted_at DESC, id DESC"),
+    @Index(name = "idx_reports_status_submitted", columnList = "status, submitted_at DESC, id DESC"),
+    @Index(name = "idx_reports_status_urgency_submitted", columnList = "status, urgency, submitted_at DESC, id DESC"),
+    @Index(name = "idx_reports_reporter_submitted", columnList = "reporter_id, submitted_at DESC, id DESC"),
+    @Index(name = "idx_reports_urgency_submitted", columnList = "urgency, submitted_at DESC, id DESC"),
+    @Index(name = "idx_reports_waste_type_submitted", columnList = "waste_type, submitted_at DESC, id DESC")
+})
 public class Report {
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_seq")
+    @SequenceGenerator(name = "report_seq", sequenceName = "report_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -31,6 +41,13 @@ public class Report {
     @Column(name = "image_url")
     private String imageUrl;
 
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status")
+    private ImageStatus imageStatus = ImageStatus.NONE;
+
     @Column(name = "latitude")
     private Double latitude;
 
@@ -58,6 +75,17 @@ public class Report {
     @Column(name = "points_awarded")
     private Integer pointsAwarded = 0;
 
+    // Duplicate submissions folded into this report instead of becoming new rows
+    @Column(name = "corroboration_count")
+    private Integer corroborationCount = 0;
+
+    @Column(name = "last_corroborated_at")
+    private LocalDateTime lastCorroboratedAt;
+
+    // Validator for conditional GETs; bulk UPDATEs on reports must set it too
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public enum WasteType {
         GENERAL, RECYCLABLE, ORGANIC, HAZARDOUS, ELECTRONIC
     }
@@ -70,6 +98,10 @@ public class Report {
         PENDING, IN_PROGRESS, RESOLVED, REJECTED
     }
 
+    public enum ImageStatus {
+        NONE, PENDING, UPLOADED, FAILED
+    }
+
     // Constructors
     public Report() {
         this.submittedAt = LocalDateTime.now();
@@ -83,6 +115,13 @@ public class Report {
         this.description = description;
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        // Truncated to what the database keeps so a reloaded row yields the same ETag
+        this.updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -102,6 +141,12 @@ public class Report {
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
 
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public ImageStatus getImageStatus() { return imageStatus; }
+    public void setImageStatus(ImageStatus imageStatus) { this.imageStatus = imageStatus; }
+
     public Double getLatitude() { return latitude; }
     public void setLatitude(Double latitude) { this.latitude = latitude; }
 
@@ -125,4 +170,13 @@ public class Report {
 
     public Integer getPointsAwarded() { return pointsAwarded; }
     public void setPointsAwarded(Integer pointsAwarded) { this.pointsAwarded = pointsAwarded; }
+
+    public Integer getCorroborationCount() { return corroborationCount; }
+    public void setCorroborationCount(Integer corroborationCount) { this.corroborationCount = corroborationCount; }
+
+    public LocalDateTime getLastCorroboratedAt() { return lastCorroboratedAt; }
+    public void setLastCorroboratedAt(LocalDateTime lastCorroboratedAt) { this.lastCorroboratedAt = lastCorroboratedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 } 
\ No newline at end of file
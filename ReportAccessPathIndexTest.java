@@ -0,0 +1,170 @@
+package com.smartbin.repository;
+
+import com.smartbin.model.Report;
+import com.smartbin.model.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the H2 plans of the SQL that ReportRepository actually generates against the V3
+ * indexes. The table is seeded and analyzed first so the optimizer costs real
+ * selectivities, and a statement inspector captures each listing query as Hibernate
+ * sends it, bind markers included. H2 only skips the sort when the index starts with
+ * the ORDER BY columns, so the unfiltered and keyset orderings must come back
+ * "index sorted" while the filtered ones must at least read through their own index.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.smartbin.repository.ReportAccessPathIndexTest$CapturingStatementInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportAccessPathIndexTest {
+
+    private static final int USERS = 1_000;
+    private static final int REPORTS = 100_000;
+    private static final LocalDateTime NEWEST = LocalDateTime.of(2024, 6, 1, 0, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 21);
+
+    private static boolean seeded;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (!seeded) {
+            List<Object[]> users = new ArrayList<>();
+            for (long id = 1; id <= USERS; id++) {
+                users.add(new Object[] { id, "user" + id, "user" + id + "@example.com" });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, first_name, last_name, points) " +
+                    "VALUES (?, ?, ?, 'x', 'First', 'Last', 0)", users);
+
+            Report.ReportStatus[] statuses = Report.ReportStatus.values();
+            Report.UrgencyLevel[] urgencies = Report.UrgencyLevel.values();
+            Report.WasteType[] wasteTypes = Report.WasteType.values();
+            List<Object[]> reports = new ArrayList<>();
+            for (long id = 1; id <= REPORTS; id++) {
+                // Mostly resolved, as in production; a tenth still pending
+                Report.ReportStatus status = id % 10 == 0 ? Report.ReportStatus.PENDING
+                        : id % 10 == 1 ? statuses[(int) (id / 10 % statuses.length)] : Report.ReportStatus.RESOLVED;
+                reports.add(new Object[] { id, "Bin " + id,
+                        wasteTypes[(int) (id % wasteTypes.length)].name(),
+                        urgencies[(int) (id / 7 % urgencies.length)].name(),
+                        status.name(),
+                        Timestamp.valueOf(NEWEST.minusMinutes(REPORTS - id)),
+                        id % USERS + 1 });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO reports (id, location, waste_type, urgency, status, submitted_at, " +
+                    "reporter_id, image_status, corroboration_count) VALUES (?, ?, ?, ?, ?, ?, ?, 'NONE', 0)", reports);
+            jdbcTemplate.execute("ANALYZE");
+            seeded = true;
+        }
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void recentListingReadsIndexInOrder() {
+        reportRepository.findFirstPageOrderBySubmittedAtDesc(PAGE);
+        assertThat(explainCaptured(PAGE.getOffset(), PAGE.getPageSize()))
+                .contains("IDX_REPORTS_SUBMITTED").contains("index sorted");
+
+        reportRepository.findTopNByOrderBySubmittedAtDesc(20);
+        assertThat(explainCaptured(20))
+                .contains("IDX_REPORTS_SUBMITTED").contains("index sorted");
+    }
+
+    @Test
+    void keysetPageReadsIndexInOrder() {
+        LocalDateTime cursor = NEWEST.minusDays(7);
+        reportRepository.findPageAfter(cursor, 500L, PAGE);
+
+        assertThat(explainCaptured(Timestamp.valueOf(cursor), Timestamp.valueOf(cursor), 500L,
+                PAGE.getOffset(), PAGE.getPageSize()))
+                .contains("IDX_REPORTS_SUBMITTED").contains("index sorted");
+    }
+
+    @Test
+    void filteredListingsUseTheirCompositeIndex() {
+        reportRepository.findFirstPageByStatus(Report.ReportStatus.PENDING, PAGE);
+        assertThat(explainCaptured("PENDING", PAGE.getOffset(), PAGE.getPageSize()))
+                .contains("IDX_REPORTS_STATUS_SUBMITTED");
+
+        LocalDateTime cursor = NEWEST.minusDays(7);
+        reportRepository.findPageByStatusAfter(Report.ReportStatus.PENDING, cursor, 500L, PAGE);
+        assertThat(explainCaptured("PENDING", Timestamp.valueOf(cursor), Timestamp.valueOf(cursor), 500L,
+                PAGE.getOffset(), PAGE.getPageSize()))
+                .contains("IDX_REPORTS_STATUS_SUBMITTED");
+
+        reportRepository.findByStatusAndUrgencyOrderBySubmittedAtDesc(Report.ReportStatus.PENDING, Report.UrgencyLevel.HIGH);
+        assertThat(explainCaptured("PENDING", "HIGH"))
+                .contains("IDX_REPORTS_STATUS_URGENCY_SUBMITTED");
+
+        reportRepository.findByUrgencyOrderBySubmittedAtDesc(Report.UrgencyLevel.HIGH);
+        assertThat(explainCaptured("HIGH"))
+                .contains("IDX_REPORTS_URGENCY_SUBMITTED");
+
+        reportRepository.findByWasteTypeOrderBySubmittedAtDesc(Report.WasteType.RECYCLABLE);
+        assertThat(explainCaptured("RECYCLABLE"))
+                .contains("IDX_REPORTS_WASTE_TYPE_SUBMITTED");
+    }
+
+    @Test
+    void reporterListingAvoidsTableScan() {
+        User reporter = userRepository.findById(1L).orElseThrow();
+        CapturingStatementInspector.STATEMENTS.clear();
+
+        reportRepository.findFirstPageByReporter(reporter, PAGE);
+
+        // H2 may pick its own foreign-key index on reporter_id, which has the same prefix
+        assertThat(explainCaptured(1L, PAGE.getOffset(), PAGE.getPageSize()))
+                .contains("REPORTER_ID = ").doesNotContain("tableScan");
+    }
+
+    @Test
+    void statusCountUsesIndex() {
+        reportRepository.countByStatus(Report.ReportStatus.PENDING);
+
+        assertThat(explainCaptured("PENDING")).contains("IDX_REPORTS_STATUS_SUBMITTED");
+    }
+
+    // Explains the one query the repository call issued, bound to the values it was called with
+    private String explainCaptured(Object... args) {
+        assertThat(CapturingStatementInspector.STATEMENTS).hasSize(1);
+        String sql = CapturingStatementInspector.STATEMENTS.remove(0);
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(args.length);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains(" reports ")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
\ No newline at end of file
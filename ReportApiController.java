@@ -1,68 +1,127 @@
 package com.smartbin.controller.api;
 
+import com.smartbin.dto.CursorPage;
+import com.smartbin.dto.NearbyReportResponse;
+import com.smartbin.dto.ReportBatchItem;
+import com.smartbin.dto.ReportBatchResult;
 import com.smartbin.dto.ReportCreateRequest;
+import com.smartbin.dto.ReportCursor;
 import com.smartbin.dto.ReportResponse;
+import com.smartbin.dto.ReportSearchResponse;
 import com.smartbin.dto.ReportStatusUpdateRequest;
 import com.smartbin.model.Report;
 import com.smartbin.model.User;
+import com.smartbin.security.AuthenticatedUser;
+import com.smartbin.security.ReportSubmissionRateLimitFilter;
+import com.smartbin.security.SubmissionRateLimiter;
+import com.smartbin.service.FileResponseWriter;
+import com.smartbin.service.ImageCacheService;
+import com.smartbin.service.ImageProcessingService;
+import com.smartbin.service.ImageUploadService;
+import com.smartbin.service.ReportEventStream;
+import com.smartbin.service.ReportExportService;
+import com.smartbin.service.ReportResponseCache;
+import com.smartbin.service.ReportSearchIndex;
 import com.smartbin.service.ReportService;
-import com.smartbin.service.UserService;
+import com.smartbin.service.ReportSpatialIndex;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.security.Principal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reports")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class ReportApiController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     private ReportService reportService;
 
     @Autowired
-    private UserService userService;
+    private ReportSpatialIndex reportSpatialIndex;
+
+    @Autowired
+    private ImageCacheService imageCacheService;
+
+    @Autowired
+    private FileResponseWriter fileResponseWriter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ReportEventStream reportEventStream;
+
+    @Autowired
+    private ReportResponseCache reportResponseCache;
+
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+
+    @Autowired
+    private SubmissionRateLimiter submissionRateLimiter;
+
+    @Value("${app.reports.batch.max-size:500}")
+    private int maxBatchSize;
 
     @PostMapping
     public ResponseEntity<?> createReport(
             @Valid @ModelAttribute ReportCreateRequest request,
             @RequestParam(value = "image", required = false) MultipartFile image,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            // Get current user (if authenticated)
-            User reporter = null;
-            if (principal != null) {
-                Optional<User> userOpt = userService.findByUsername(principal.getName());
-                if (userOpt.isPresent()) {
-                    reporter = userOpt.get();
-                }
-            }
+            // Current user (if authenticated) was already resolved by the JWT filter
+            User reporter = principal != null ? principal.getUser() : null;
 
             // Create report object
-            Report report = new Report();
-            report.setLocation(request.getLocation());
-            report.setWasteType(request.getWasteType());
-            report.setUrgency(request.getUrgency());
-            report.setDescription(request.getDescription());
-            report.setLatitude(request.getLatitude());
-            report.setLongitude(request.getLongitude());
+            Report report = toReport(request);
 
             // Create report
-            Report savedReport = reportService.createReport(report, reporter, image);
-            
-            return ResponseEntity.ok(new ReportResponse(savedReport));
+            ReportService.CreatedReport created = reportService.createReport(report, reporter, image);
 
+            ReportResponse response = new ReportResponse(created.getReport());
+            response.setCorroborated(created.isCorroborated());
+            return ResponseEntity.ok(response);
+
+        } catch (ImageUploadService.UploadQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .body("Image uploads are backed up, please retry shortly");
+        } catch (ImageProcessingService.InvalidImageException e) {
+            return ResponseEntity.badRequest().body("Invalid image: " + e.getMessage());
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to upload image: " + e.getMessage());
@@ -72,10 +131,96 @@ public class ReportApiController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createReportsBatch(
+            @RequestBody List<ReportBatchItem> items,
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            HttpServletRequest request) {
+        if (items == null || items.isEmpty()) {
+            return ResponseEntity.badRequest().body("Batch must contain at least one report");
+        }
+        if (items.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body("Batch must not exceed " + maxBatchSize + " reports");
+        }
+
+        User reporter = principal != null ? principal.getUser() : null;
+
+        // Validate per item so one bad report does not reject the whole batch
+        ReportBatchResult[] results = new ReportBatchResult[items.size()];
+        List<Report> reports = new ArrayList<>();
+        List<Integer> reportIndexes = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ReportBatchItem item = items.get(i);
+            if (item == null) {
+                results[i] = ReportBatchResult.failed(i, null, "Report must not be null");
+                continue;
+            }
+            // The URL could point at any blob, including another user's; images go through POST /api/reports
+            if (item.getImageUrl() != null) {
+                results[i] = ReportBatchResult.failed(i, item.getClientId(),
+                        "Image URLs are not accepted in batch submissions");
+                continue;
+            }
+            Set<ConstraintViolation<ReportBatchItem>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                String error = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = ReportBatchResult.failed(i, item.getClientId(), error);
+                continue;
+            }
+
+            reports.add(toReport(item));
+            reportIndexes.add(i);
+        }
+
+        // The rate-limit filter charged one token for the request; the remaining reports pay per item
+        String rateLimitKey = (String) request.getAttribute(ReportSubmissionRateLimitFilter.KEY_ATTRIBUTE);
+        if (rateLimitKey != null && reports.size() > 1) {
+            SubmissionRateLimiter.Tier tier =
+                    (SubmissionRateLimiter.Tier) request.getAttribute(ReportSubmissionRateLimitFilter.TIER_ATTRIBUTE);
+            int allowed = 1 + submissionRateLimiter.tryAcquireUpTo(rateLimitKey, tier, reports.size() - 1);
+            for (int i = allowed; i < reports.size(); i++) {
+                int index = reportIndexes.get(i);
+                results[index] = ReportBatchResult.failed(index, items.get(index).getClientId(),
+                        "Report submission rate exceeded, retry later");
+            }
+            reports.subList(allowed, reports.size()).clear();
+            reportIndexes.subList(allowed, reportIndexes.size()).clear();
+        }
+
+        try {
+            if (!reports.isEmpty()) {
+                List<Report> savedReports = reportService.createReports(reports, reporter);
+                for (int i = 0; i < savedReports.size(); i++) {
+                    int index = reportIndexes.get(i);
+                    results[index] = ReportBatchResult.created(index, items.get(index).getClientId(), savedReports.get(i).getId());
+                }
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to create reports: " + e.getMessage());
+        }
+
+        return ResponseEntity.ok(List.of(results));
+    }
+
     @GetMapping
-    public ResponseEntity<Page<ReportResponse>> getAllReports(
+    public ResponseEntity<?> getAllReports(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        
+        // Cursor mode: "?after=" starts from the newest report, "?after=<submittedAt>,<id>" continues
+        if (after != null) {
+            try {
+                CursorPage<Report> reports = reportService.getReportsAfter(ReportCursor.parse(after), clampPageSize(size));
+                return ResponseEntity.ok(reports.map(ReportResponse::new));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
         
         Pageable pageable = PageRequest.of(page, size);
         Page<Report> reports = reportService.getAllReports(pageable);
@@ -85,20 +230,205 @@ public class ReportApiController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ReportResponse> getReportById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getReportById(@PathVariable Long id, WebRequest webRequest) {
+        // Final-status reports are served from pre-serialized bytes without touching the DB
+        Optional<ReportResponseCache.CachedReport> cached = reportResponseCache.get(id);
+        if (cached.isPresent()) {
+            return respondWithJson(cached.get(), webRequest);
+        }
+        
+        long generation = reportResponseCache.generation();
         Optional<Report> reportOpt = reportService.getReportById(id);
         
         if (reportOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         
-        return ResponseEntity.ok(new ReportResponse(reportOpt.get()));
+        Report report = reportOpt.get();
+        if (webRequest.checkNotModified(ReportResponseCache.etagOf(report), ReportResponseCache.lastModifiedMillis(report))) {
+            return null;
+        }
+        
+        ReportResponseCache.CachedReport rendered = reportResponseCache.render(report);
+        reportResponseCache.putIfFinal(report, rendered, generation);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rendered.getJson());
+    }
+
+    @GetMapping("/{id}/image")
+    public void getReportImage(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "full") String variant,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        
+        Optional<Report> reportOpt = reportService.getReportById(id);
+        if (reportOpt.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        
+        Report report = reportOpt.get();
+        String fileUrl = "thumbnail".equalsIgnoreCase(variant) && report.getThumbnailUrl() != null
+                ? report.getThumbnailUrl()
+                : report.getImageUrl();
+        if (fileUrl == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        
+        ImageCacheService.CachedFile cached;
+        try {
+            cached = imageCacheService.get(fileUrl);
+        } catch (IOException e) {
+            response.sendError(HttpServletResponse.SC_BAD_GATEWAY, "Failed to fetch image: " + e.getMessage());
+            return;
+        }
+        
+        try {
+            response.setHeader(HttpHeaders.ETAG, cached.getEtag());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+            if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.getEtag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            
+            String contentType = MediaTypeFactory.getMediaType(fileUrl)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                    .toString();
+            // No sendfile: the connector would open the file after the pin is released
+            fileResponseWriter.write(cached.getPath(), contentType, request, response, false);
+        } finally {
+            imageCacheService.release(cached);
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ReportSearchResponse>> searchReports(
+            @RequestParam String q,
+            @RequestParam(required = false) Report.ReportStatus status,
+            @RequestParam(required = false) Report.WasteType wasteType,
+            @RequestParam(required = false) Report.UrgencyLevel urgency,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        List<ReportSearchResponse> response = reportSearchIndex.search(q, status, wasteType, urgency, clampPageSize(limit)).stream()
+                .map(ReportSearchResponse::new)
+                .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyReportResponse>> getNearbyReports(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "1000") double radius,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180 || radius <= 0 || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        List<NearbyReportResponse> response = reportSpatialIndex.findWithinRadius(lat, lon, radius, limit).stream()
+                .map(NearbyReportResponse::new)
+                .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyReportResponse>> getReportsWithinBox(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        if (minLat > maxLat || minLon > maxLon || minLat < -90 || maxLat > 90
+                || minLon < -180 || maxLon > 180 || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        List<NearbyReportResponse> response = reportSpatialIndex.findWithinBox(minLat, minLon, maxLat, maxLon, limit).stream()
+                .map(NearbyReportResponse::new)
+                .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamReportEvents(
+            @RequestParam(required = false) Set<Report.ReportStatus> status,
+            @RequestParam(required = false) Set<Report.UrgencyLevel> urgency,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        Long lastSeenEventId = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                lastSeenEventId = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        
+        SseEmitter emitter = reportEventStream.subscribe(status, urgency, lastSeenEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Report.ReportStatus status,
+            @RequestParam(required = false) Report.WasteType wasteType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        ReportExportService.Format exportFormat;
+        try {
+            exportFormat = ReportExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = out -> reportExportService.export(exportFormat, status, wasteType, from, to, out);
+        
+        if (exportFormat == ReportExportService.Format.CSV) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reports.csv\"")
+                    .body(body);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ReportResponse>> getReportsByStatus(@PathVariable String status) {
+    public ResponseEntity<?> getReportsByStatus(
+            @PathVariable String status,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
         try {
             Report.ReportStatus reportStatus = Report.ReportStatus.valueOf(status.toUpperCase());
+            if (after != null) {
+                CursorPage<Report> reports = reportService.getReportsByStatusAfter(
+                        reportStatus, ReportCursor.parse(after), clampPageSize(size));
+                return ResponseEntity.ok(reports.map(ReportResponse::new));
+            }
+            
             List<Report> reports = reportService.getReportsByStatus(reportStatus);
             List<ReportResponse> response = reports.stream()
                     .map(ReportResponse::new)
@@ -111,17 +441,27 @@ public class ReportApiController {
     }
 
     @GetMapping("/my-reports")
-    public ResponseEntity<List<ReportResponse>> getMyReports(Principal principal) {
+    public ResponseEntity<?> getMyReports(
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Optional<User> userOpt = userService.findByUsername(principal.getName());
-        if (userOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        User user = principal.getUser();
+
+        if (after != null) {
+            try {
+                CursorPage<Report> reports = reportService.getReportsByUserAfter(
+                        user, ReportCursor.parse(after), clampPageSize(size));
+                return ResponseEntity.ok(reports.map(ReportResponse::new));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
         }
 
-        List<Report> reports = reportService.getReportsByUser(userOpt.get());
+        List<Report> reports = reportService.getReportsByUser(user);
         List<ReportResponse> response = reports.stream()
                 .map(ReportResponse::new)
                 .toList();
@@ -134,15 +474,14 @@ public class ReportApiController {
     public ResponseEntity<ReportResponse> updateReportStatus(
             @PathVariable Long id,
             @Valid @RequestBody ReportStatusUpdateRequest request,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
         try {
-            Optional<User> adminOpt = userService.findByUsername(principal.getName());
-            if (adminOpt.isEmpty()) {
+            if (principal == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            Report updatedReport = reportService.updateReportStatus(id, request.getStatus(), adminOpt.get());
+            Report updatedReport = reportService.updateReportStatus(id, request.getStatus(), principal.getUser());
             return ResponseEntity.ok(new ReportResponse(updatedReport));
 
         } catch (RuntimeException e) {
@@ -166,4 +505,42 @@ public class ReportApiController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    private Report toReport(ReportCreateRequest request) {
+        Report report = new Report();
+        report.setLocation(request.getLocation());
+        report.setWasteType(request.getWasteType());
+        report.setUrgency(request.getUrgency());
+        report.setDescription(request.getDescription());
+        report.setLatitude(request.getLatitude());
+        report.setLongitude(request.getLongitude());
+        return report;
+    }
+
+    // checkNotModified also writes the ETag and Last-Modified headers for the 200 case
+    private ResponseEntity<byte[]> respondWithJson(ReportResponseCache.CachedReport cached, WebRequest webRequest) {
+        if (webRequest.checkNotModified(cached.getEtag(), cached.getLastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.getJson());
+    }
+
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
 } 
\ No newline at end of file
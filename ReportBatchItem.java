@@ -0,0 +1,23 @@
+package com.smartbin.dto;
+
+import jakarta.validation.constraints.Size;
+
+public class ReportBatchItem extends ReportCreateRequest {
+    
+    // Client-side identifier (e.g. offline queue id) echoed back in the result
+    @Size(max = 100, message = "Client id must not exceed 100 characters")
+    private String clientId;
+    
+    // Not accepted: items that set it are rejected, since the URL cannot be tied to the submitter
+    private String imageUrl;
+    
+    // Constructors
+    public ReportBatchItem() {}
+    
+    // Getters and Setters
+    public String getClientId() { return clientId; }
+    public void setClientId(String clientId) { this.clientId = clientId; }
+    
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+}
\ No newline at end of file
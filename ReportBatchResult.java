@@ -0,0 +1,45 @@
+package com.smartbin.dto;
+
+public class ReportBatchResult {
+    
+    private int index;
+    private String clientId;
+    private boolean success;
+    private Long reportId;
+    private String error;
+    
+    // Constructors
+    public ReportBatchResult() {}
+    
+    public ReportBatchResult(int index, String clientId, boolean success, Long reportId, String error) {
+        this.index = index;
+        this.clientId = clientId;
+        this.success = success;
+        this.reportId = reportId;
+        this.error = error;
+    }
+    
+    public static ReportBatchResult created(int index, String clientId, Long reportId) {
+        return new ReportBatchResult(index, clientId, true, reportId, null);
+    }
+    
+    public static ReportBatchResult failed(int index, String clientId, String error) {
+        return new ReportBatchResult(index, clientId, false, null, error);
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public String getClientId() { return clientId; }
+    public void setClientId(String clientId) { this.clientId = clientId; }
+    
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.smartbin.dto;
+
+import com.smartbin.model.Report;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in the (submittedAt DESC, id DESC) ordering of reports, serialized as
+ * {@code <submittedAt>,<id>} for the {@code after} request parameter.
+ */
+public class ReportCursor {
+    
+    private final LocalDateTime submittedAt;
+    private final Long id;
+    
+    public ReportCursor(LocalDateTime submittedAt, Long id) {
+        this.submittedAt = submittedAt;
+        this.id = id;
+    }
+    
+    public static ReportCursor of(Report report) {
+        return new ReportCursor(report.getSubmittedAt(), report.getId());
+    }
+    
+    /**
+     * Returns {@code null} for a blank value, meaning "start from the newest report".
+     */
+    public static ReportCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        
+        int separator = value.lastIndexOf(',');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("Cursor must be in the form <submittedAt>,<id>");
+        }
+        
+        try {
+            LocalDateTime submittedAt = LocalDateTime.parse(value.substring(0, separator).trim());
+            Long id = Long.valueOf(value.substring(separator + 1).trim());
+            return new ReportCursor(submittedAt, id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+    
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    
+    public Long getId() { return id; }
+    
+    @Override
+    public String toString() {
+        return submittedAt + "," + id;
+    }
+}
\ No newline at end of file
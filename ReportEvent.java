@@ -0,0 +1,43 @@
+package com.smartbin.event;
+
+import com.smartbin.model.Report;
+
+public class ReportEvent {
+
+    public enum Type {
+        CREATED, STATUS_CHANGED, CORROBORATED, DELETED
+    }
+
+    private final Type type;
+    private final Report report;
+    private final Report.ReportStatus previousStatus;
+
+    public ReportEvent(Type type, Report report, Report.ReportStatus previousStatus) {
+        this.type = type;
+        this.report = report;
+        this.previousStatus = previousStatus;
+    }
+
+    public static ReportEvent created(Report report) {
+        return new ReportEvent(Type.CREATED, report, null);
+    }
+
+    public static ReportEvent statusChanged(Report report, Report.ReportStatus previousStatus) {
+        return new ReportEvent(Type.STATUS_CHANGED, report, previousStatus);
+    }
+
+    public static ReportEvent corroborated(Report report) {
+        return new ReportEvent(Type.CORROBORATED, report, report.getStatus());
+    }
+
+    public static ReportEvent deleted(Report report) {
+        return new ReportEvent(Type.DELETED, report, report.getStatus());
+    }
+
+    // Getters
+    public Type getType() { return type; }
+
+    public Report getReport() { return report; }
+
+    public Report.ReportStatus getPreviousStatus() { return previousStatus; }
+}
\ No newline at end of file
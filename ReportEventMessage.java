@@ -0,0 +1,72 @@
+package com.smartbin.dto;
+
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import java.time.LocalDateTime;
+
+public class ReportEventMessage {
+    
+    private ReportEvent.Type type;
+    private Long reportId;
+    private Report.ReportStatus status;
+    private Report.ReportStatus previousStatus;
+    private Report.UrgencyLevel urgency;
+    private Report.WasteType wasteType;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime submittedAt;
+    private int corroborationCount;
+    
+    // Constructors
+    public ReportEventMessage() {}
+    
+    public ReportEventMessage(ReportEvent event) {
+        Report report = event.getReport();
+        this.type = event.getType();
+        this.reportId = report.getId();
+        this.status = report.getStatus();
+        this.previousStatus = event.getPreviousStatus();
+        this.urgency = report.getUrgency();
+        this.wasteType = report.getWasteType();
+        this.location = report.getLocation();
+        this.latitude = report.getLatitude();
+        this.longitude = report.getLongitude();
+        this.submittedAt = report.getSubmittedAt();
+        this.corroborationCount = report.getCorroborationCount() != null ? report.getCorroborationCount() : 0;
+    }
+    
+    // Getters and Setters
+    public ReportEvent.Type getType() { return type; }
+    public void setType(ReportEvent.Type type) { this.type = type; }
+    
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+    
+    public Report.ReportStatus getStatus() { return status; }
+    public void setStatus(Report.ReportStatus status) { this.status = status; }
+    
+    public Report.ReportStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(Report.ReportStatus previousStatus) { this.previousStatus = previousStatus; }
+    
+    public Report.UrgencyLevel getUrgency() { return urgency; }
+    public void setUrgency(Report.UrgencyLevel urgency) { this.urgency = urgency; }
+    
+    public Report.WasteType getWasteType() { return wasteType; }
+    public void setWasteType(Report.WasteType wasteType) { this.wasteType = wasteType; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+    
+    public int getCorroborationCount() { return corroborationCount; }
+    public void setCorroborationCount(int corroborationCount) { this.corroborationCount = corroborationCount; }
+}
\ No newline at end of file
@@ -0,0 +1,235 @@
+package com.smartbin.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartbin.dto.ReportEventMessage;
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed {@link ReportEvent}s out to Server-Sent Event subscribers.
+ * Idle subscribers hold only an async request and a small queue; a virtual thread
+ * runs per subscriber only while it has events to write. A subscriber whose queue
+ * fills up is disconnected and can resume from its last event id, as long as that
+ * id is still in the replay buffer. Ids start from the boot time so an id issued
+ * before a restart is never mistaken for one issued after it.
+ */
+@Service
+public class ReportEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportEventStream.class);
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null, null);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.reports.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.reports.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.reports.stream.replay-size:1000}")
+    private int replaySize;
+
+    @Value("${app.reports.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<StreamEvent> replay = new ArrayDeque<>();
+    private long lastEventId = System.currentTimeMillis() * 1000;
+
+    private ExecutorService sendExecutor;
+
+    @PostConstruct
+    public void init() {
+        sendExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-stream-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * Registers a subscriber. Returns null when the subscriber limit is reached.
+     * Null or empty filter sets match everything.
+     */
+    public SseEmitter subscribe(Set<Report.ReportStatus> statuses, Set<Report.UrgencyLevel> urgencies,
+                                Long lastSeenEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, statuses, urgencies, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Replay and registration happen together so no event is missed or sent twice
+        synchronized (this) {
+            if (lastSeenEventId != null) {
+                StreamEvent oldest = replay.peekFirst();
+                long replayableFrom = oldest == null ? lastEventId : oldest.id - 1;
+                // Ids outside the buffer come from evicted events or from a previous process
+                boolean complete = lastSeenEventId >= replayableFrom && lastSeenEventId <= lastEventId;
+                for (StreamEvent event : replay) {
+                    if (!complete) {
+                        break;
+                    }
+                    if (event.id > lastSeenEventId && subscriber.accepts(event.message)) {
+                        complete = subscriber.queue.offer(event);
+                    }
+                }
+                if (!complete) {
+                    // The gap cannot be replayed in full; the client has to reload its lists
+                    subscriber.queue.clear();
+                    subscriber.queue.offer(new StreamEvent(lastEventId, "reset", "{}", null));
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        drain(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onReportEvent(ReportEvent event) {
+        ReportEventMessage message = new ReportEventMessage(event);
+        String json;
+        try {
+            // Serialized once and shared by every subscriber
+            json = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize report event for report {}", message.getReportId(), e);
+            return;
+        }
+
+        synchronized (this) {
+            StreamEvent streamEvent = new StreamEvent(++lastEventId, event.getType().name().toLowerCase(), json, message);
+            replay.addLast(streamEvent);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(message)) {
+                    enqueue(subscriber, streamEvent);
+                }
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle streams and surfaces dead connections
+    @Scheduled(fixedDelayString = "${app.reports.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, HEARTBEAT);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void enqueue(Subscriber subscriber, StreamEvent event) {
+        if (subscriber.queue.offer(event)) {
+            drain(subscriber);
+        } else {
+            logger.debug("Disconnecting slow report stream subscriber");
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        sendExecutor.execute(() -> {
+            try {
+                StreamEvent event;
+                while ((event = subscriber.queue.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.id))
+                                .name(event.name)
+                                .data(event.json));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            } finally {
+                subscriber.draining.set(false);
+            }
+            // An event may have arrived between the last poll and releasing the flag
+            drain(subscriber);
+        });
+    }
+
+    private static final class StreamEvent {
+        private final long id;
+        private final String name;
+        private final String json;
+        private final ReportEventMessage message;
+
+        private StreamEvent(long id, String name, String json, ReportEventMessage message) {
+            this.id = id;
+            this.name = name;
+            this.json = json;
+            this.message = message;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Report.ReportStatus> statuses;
+        private final Set<Report.UrgencyLevel> urgencies;
+        private final BlockingQueue<StreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<Report.ReportStatus> statuses,
+                           Set<Report.UrgencyLevel> urgencies, int bufferSize) {
+            this.emitter = emitter;
+            this.statuses = statuses;
+            this.urgencies = urgencies;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // A status filter also matches the status a report just left, so lists can drop it
+        private boolean accepts(ReportEventMessage message) {
+            if (statuses != null && !statuses.isEmpty()
+                    && !statuses.contains(message.getStatus())
+                    && !statuses.contains(message.getPreviousStatus())) {
+                return false;
+            }
+            return urgencies == null || urgencies.isEmpty() || urgencies.contains(message.getUrgency());
+        }
+    }
+}
\ No newline at end of file
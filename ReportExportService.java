@@ -0,0 +1,125 @@
+package com.smartbin.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.smartbin.dto.ReportResponse;
+import com.smartbin.model.Report;
+import com.smartbin.repository.ReportRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams reports straight from a database cursor to the response. Rows are mapped and
+ * written one at a time and the persistence context is cleared periodically, so memory
+ * use does not grow with the size of the export.
+ */
+@Service
+public class ReportExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportExportService.class);
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private static final String CSV_HEADER = "id,location,wasteType,urgency,description,imageUrl,thumbnailUrl,"
+            + "latitude,longitude,status,submittedAt,resolvedAt,reporterUsername,resolvedByUsername,pointsAwarded";
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long export(Format format, Report.ReportStatus status, Report.WasteType wasteType,
+                       LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        ObjectWriter jsonWriter = objectMapper.writerFor(ReportResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<Report> reports = reportRepository.streamForExport(status, wasteType, from, to)) {
+            Iterator<Report> iterator = reports.iterator();
+            while (iterator.hasNext()) {
+                Report report = iterator.next();
+                ReportResponse row = new ReportResponse(report);
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    jsonWriter.writeValue(writer, row);
+                    writer.write('\n');
+                }
+
+                entityManager.detach(report);
+                if (++rows % CLEAR_INTERVAL == 0) {
+                    // Also drops the reporter/resolver users pulled in by the fetch joins
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        logger.info("Exported {} reports as {}", rows, format);
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, ReportResponse row) throws IOException {
+        Object[] values = {
+            row.getId(), row.getLocation(), row.getWasteType(), row.getUrgency(), row.getDescription(),
+            row.getImageUrl(), row.getThumbnailUrl(), row.getLatitude(), row.getLongitude(), row.getStatus(),
+            row.getSubmittedAt(), row.getResolvedAt(), row.getReporterUsername(), row.getResolvedByUsername(),
+            row.getPointsAwarded()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvEscape(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    static String csvEscape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // User text that a spreadsheet would evaluate as a formula is forced to a literal;
+        // numbers (e.g. negative longitudes) are left alone
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+}
\ No newline at end of file
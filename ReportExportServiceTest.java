@@ -0,0 +1,25 @@
+package com.smartbin.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportExportServiceTest {
+
+    @Test
+    void formulaCellsAreForcedToText() {
+        assertThat(ReportExportService.csvEscape("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(ReportExportService.csvEscape("+1 street")).isEqualTo("'+1 street");
+        assertThat(ReportExportService.csvEscape("-2")).isEqualTo("'-2");
+        assertThat(ReportExportService.csvEscape("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(ReportExportService.csvEscape("\tcmd")).isEqualTo("'\tcmd");
+    }
+
+    @Test
+    void plainValuesAndNumbersAreUnchanged() {
+        assertThat(ReportExportService.csvEscape("Main St, 4")).isEqualTo("\"Main St, 4\"");
+        assertThat(ReportExportService.csvEscape(-122.4194)).isEqualTo("-122.4194");
+        assertThat(ReportExportService.csvEscape("")).isEmpty();
+        assertThat(ReportExportService.csvEscape(null)).isEmpty();
+    }
+}
\ No newline at end of file
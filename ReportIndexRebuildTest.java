@@ -0,0 +1,86 @@
+package com.smartbin.service;
+
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import com.smartbin.repository.ReportRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Events that commit while a rebuild is reading the table must survive the swap.
+ */
+class ReportIndexRebuildTest {
+
+    @Test
+    void searchIndexKeepsEventsFromDuringRebuild() {
+        ReportRepository repository = mock(ReportRepository.class);
+        ReportSearchIndex index = new ReportSearchIndex();
+        ReflectionTestUtils.setField(index, "reportRepository", repository);
+
+        Report existing = report(1L, "Harbor Road", Report.ReportStatus.PENDING);
+        Report created = report(2L, "Harbor Square", Report.ReportStatus.PENDING);
+        when(repository.streamSearchFields()).thenAnswer(invocation -> {
+            // Committed after the snapshot: the query result does not contain it
+            index.onReportEvent(ReportEvent.created(created));
+            existing.setStatus(Report.ReportStatus.RESOLVED);
+            index.onReportEvent(ReportEvent.statusChanged(existing, Report.ReportStatus.PENDING));
+            return Stream.<Object[]>of(row(report(1L, "Harbor Road", Report.ReportStatus.PENDING)));
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("harbor", null, null, null, 10)).extracting(ReportSearchIndex.Hit::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("harbor", Report.ReportStatus.RESOLVED, null, null, 10))
+                .extracting(ReportSearchIndex.Hit::getId).containsExactly(1L);
+    }
+
+    @Test
+    void spatialIndexKeepsEventsFromDuringRebuild() {
+        ReportRepository repository = mock(ReportRepository.class);
+        ReportSpatialIndex index = new ReportSpatialIndex();
+        ReflectionTestUtils.setField(index, "reportRepository", repository);
+        ReflectionTestUtils.setField(index, "cellSizeDegrees", 0.01);
+
+        Report stale = report(1L, "Harbor Road", Report.ReportStatus.PENDING);
+        Report resolved = report(1L, "Harbor Road", Report.ReportStatus.RESOLVED);
+        Report created = report(2L, "Harbor Square", Report.ReportStatus.PENDING);
+        when(repository.findLocatedByStatusIn(any())).thenAnswer(invocation -> {
+            index.onReportEvent(ReportEvent.created(created));
+            index.onReportEvent(ReportEvent.statusChanged(resolved, Report.ReportStatus.PENDING));
+            return List.of(stale);
+        });
+
+        index.rebuild();
+
+        assertThat(index.findWithinRadius(47.0, 8.0, 500, 10)).extracting(ReportSpatialIndex.Entry::getId)
+                .containsExactly(2L);
+    }
+
+    private static Report report(Long id, String location, Report.ReportStatus status) {
+        Report report = new Report();
+        report.setId(id);
+        report.setLocation(location);
+        report.setStatus(status);
+        report.setWasteType(Report.WasteType.GENERAL);
+        report.setUrgency(Report.UrgencyLevel.LOW);
+        report.setLatitude(47.0);
+        report.setLongitude(8.0);
+        report.setSubmittedAt(LocalDateTime.now());
+        return report;
+    }
+
+    private static Object[] row(Report report) {
+        return new Object[] {report.getId(), report.getLocation(), report.getDescription(), report.getStatus(),
+                report.getWasteType(), report.getUrgency(), report.getSubmittedAt()};
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.smartbin.repository;
+
+import com.smartbin.dto.ReportResponse;
+import com.smartbin.model.Report;
+import com.smartbin.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the listing queries against N+1 loads: mapping a whole page to ReportResponse
+ * must cost one query (plus the page count where there is one), however many distinct
+ * users the page holds. The entity graph leaves the users' roles unloaded.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReportListingStatementCountTest {
+
+    private static final int REPORTS = 12;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User reporter;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < REPORTS; i++) {
+            User user = userRepository.save(new User("user" + i, "user" + i + "@example.com", "x", "First", "Last"));
+            User resolver = userRepository.save(new User("admin" + i, "admin" + i + "@example.com", "x", "Admin", "Last"));
+            Report report = new Report("Bin " + i, Report.WasteType.GENERAL, Report.UrgencyLevel.MEDIUM, "Full");
+            report.setReporter(user);
+            report.setResolvedBy(resolver);
+            report.setStatus(Report.ReportStatus.PENDING);
+            report.setSubmittedAt(now.minusMinutes(i));
+            reportRepository.save(report);
+            if (i == 0) {
+                reporter = user;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagedListing() {
+        // A page shorter than the total also issues its COUNT(*)
+        assertStatements(() -> reportRepository.findAllByOrderBySubmittedAtDesc(PageRequest.of(0, 5)).getContent(), 2);
+    }
+
+    @Test
+    void keysetListing() {
+        assertStatements(() -> reportRepository.findFirstPageOrderBySubmittedAtDesc(PageRequest.of(0, 21)), 1);
+        assertStatements(() -> reportRepository.findFirstPageByStatus(Report.ReportStatus.PENDING, PageRequest.of(0, 21)), 1);
+    }
+
+    @Test
+    void filteredListings() {
+        assertStatements(() -> reportRepository.findByStatusOrderBySubmittedAtDesc(Report.ReportStatus.PENDING), 1);
+        assertStatements(() -> reportRepository.findByUrgencyOrderBySubmittedAtDesc(Report.UrgencyLevel.MEDIUM), 1);
+        assertStatements(() -> reportRepository.findByWasteTypeOrderBySubmittedAtDesc(Report.WasteType.GENERAL), 1);
+        assertStatements(() -> reportRepository.findByReporterOrderBySubmittedAtDesc(reporter), 1);
+    }
+
+    @Test
+    void recentReports() {
+        assertStatements(() -> reportRepository.findTopNByOrderBySubmittedAtDesc(5), 1);
+    }
+
+    @Test
+    void singleReport() {
+        Long id = reportRepository.findTopNByOrderBySubmittedAtDesc(1).get(0).getId();
+        entityManager.clear();
+
+        assertStatements(() -> reportRepository.findWithUsersById(id).stream().toList(), 1);
+    }
+
+    private void assertStatements(Supplier<? extends Collection<Report>> query, long expected) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ReportResponse> responses = query.get().stream().map(ReportResponse::new).toList();
+
+        assertThat(responses).isNotEmpty().allSatisfy(r -> assertThat(r.getReporterUsername()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.smartbin.service;
+
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counts committed report outcomes by waste type and urgency. Counters are registered up
+ * front so recording an event is an array lookup and an increment.
+ */
+@Component
+public class ReportMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter[][] created;
+    private Counter[][] resolved;
+    private Counter[][] corroborated;
+
+    @PostConstruct
+    public void init() {
+        created = register("reports.created", "Reports created");
+        resolved = register("reports.resolved", "Reports moved to RESOLVED");
+        corroborated = register("reports.corroborated", "Duplicate submissions folded into an open report");
+    }
+
+    @TransactionalEventListener
+    public void onReportEvent(ReportEvent event) {
+        Report report = event.getReport();
+        switch (event.getType()) {
+            case CREATED:
+                increment(created, report);
+                break;
+            case STATUS_CHANGED:
+                if (report.getStatus() == Report.ReportStatus.RESOLVED
+                        && event.getPreviousStatus() != Report.ReportStatus.RESOLVED) {
+                    increment(resolved, report);
+                }
+                break;
+            case CORROBORATED:
+                increment(corroborated, report);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void increment(Counter[][] counters, Report report) {
+        if (report.getWasteType() != null && report.getUrgency() != null) {
+            counters[report.getWasteType().ordinal()][report.getUrgency().ordinal()].increment();
+        }
+    }
+
+    private Counter[][] register(String name, String description) {
+        Report.WasteType[] wasteTypes = Report.WasteType.values();
+        Report.UrgencyLevel[] urgencies = Report.UrgencyLevel.values();
+        Counter[][] counters = new Counter[wasteTypes.length][urgencies.length];
+        for (Report.WasteType wasteType : wasteTypes) {
+            for (Report.UrgencyLevel urgency : urgencies) {
+                counters[wasteType.ordinal()][urgency.ordinal()] = Counter.builder(name)
+                        .description(description)
+                        .tag("waste_type", wasteType.name())
+                        .tag("urgency", urgency.name())
+                        .register(meterRegistry);
+            }
+        }
+        return counters;
+    }
+}
\ No newline at end of file
@@ -2,36 +2,170 @@ package com.smartbin.repository;
 
 import com.smartbin.model.Report;
 import com.smartbin.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+// Listing queries fetch reporter and resolvedBy in the same SELECT; ReportResponse reads both usernames
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
     
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
     Page<Report> findAllByOrderBySubmittedAtDesc(Pageable pageable);
     
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
     List<Report> findByStatusOrderBySubmittedAtDesc(Report.ReportStatus status);
     
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
     List<Report> findByReporterOrderBySubmittedAtDesc(User reporter);
     
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
+    Optional<Report> findWithUsersById(Long id);
+    
     long countByStatus(Report.ReportStatus status);
     
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
     @Query("SELECT r FROM Report r ORDER BY r.submittedAt DESC LIMIT :limit")
     List<Report> findTopNByOrderBySubmittedAtDesc(@Param("limit") int limit);
     
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
     List<Report> findByUrgencyOrderBySubmittedAtDesc(Report.UrgencyLevel urgency);
     
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
     List<Report> findByWasteTypeOrderBySubmittedAtDesc(Report.WasteType wasteType);
     
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
     @Query("SELECT r FROM Report r WHERE r.status = :status AND r.urgency = :urgency ORDER BY r.submittedAt DESC")
     List<Report> findByStatusAndUrgencyOrderBySubmittedAtDesc(
         @Param("status") Report.ReportStatus status, 
         @Param("urgency") Report.UrgencyLevel urgency
     );
+    
+    @Query("SELECT r FROM Report r WHERE r.status IN :statuses AND r.latitude IS NOT NULL AND r.longitude IS NOT NULL")
+    List<Report> findLocatedByStatusIn(@Param("statuses") Collection<Report.ReportStatus> statuses);
+    
+    @Modifying
+    @Query("UPDATE Report r SET r.corroborationCount = COALESCE(r.corroborationCount, 0) + 1, " +
+           "r.lastCorroboratedAt = :now, r.updatedAt = :now WHERE r.id = :id AND r.status IN :statuses")
+    int incrementCorroboration(
+        @Param("id") Long id,
+        @Param("statuses") Collection<Report.ReportStatus> statuses,
+        @Param("now") LocalDateTime now
+    );
+    
+    // Background upload outcome; never joins a caller's transaction
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE Report r SET r.imageUrl = :imageUrl, r.thumbnailUrl = :thumbnailUrl, r.imageStatus = :imageStatus, " +
+           "r.updatedAt = :updatedAt WHERE r.id = :id")
+    int updateImage(
+        @Param("id") Long id,
+        @Param("imageUrl") String imageUrl,
+        @Param("thumbnailUrl") String thumbnailUrl,
+        @Param("imageStatus") Report.ImageStatus imageStatus,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    @Query("SELECT r.id FROM Report r WHERE r.imageStatus = :imageStatus AND r.submittedAt < :before")
+    List<Long> findIdsByImageStatusAndSubmittedAtBefore(
+        @Param("imageStatus") Report.ImageStatus imageStatus,
+        @Param("before") LocalDateTime before
+    );
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Report r SET r.imageStatus = :newStatus, r.updatedAt = :updatedAt " +
+           "WHERE r.id IN :ids AND r.imageStatus = :expectedStatus")
+    int updateImageStatus(
+        @Param("ids") Collection<Long> ids,
+        @Param("expectedStatus") Report.ImageStatus expectedStatus,
+        @Param("newStatus") Report.ImageStatus newStatus,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    // Forward-only cursor for exports; callers must consume it inside a transaction and close it
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Report r LEFT JOIN FETCH r.reporter LEFT JOIN FETCH r.resolvedBy " +
+           "WHERE (:status IS NULL OR r.status = :status) " +
+           "AND (:wasteType IS NULL OR r.wasteType = :wasteType) " +
+           "AND (:from IS NULL OR r.submittedAt >= :from) " +
+           "AND (:to IS NULL OR r.submittedAt < :to) " +
+           "ORDER BY r.submittedAt DESC, r.id DESC")
+    Stream<Report> streamForExport(
+        @Param("status") Report.ReportStatus status,
+        @Param("wasteType") Report.WasteType wasteType,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+    
+    // Rows of [id, location, description, status, wasteType, urgency, submittedAt] for the search index
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id, r.location, r.description, r.status, r.wasteType, r.urgency, r.submittedAt FROM Report r")
+    Stream<Object[]> streamSearchFields();
+    
+    // Keyset pagination: seek on (submittedAt, id) so deep pages cost the same as the first and skip COUNT(*)
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
+    @Query("SELECT r FROM Report r ORDER BY r.submittedAt DESC, r.id DESC")
+    List<Report> findFirstPageOrderBySubmittedAtDesc(Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
+    @Query("SELECT r FROM Report r WHERE r.submittedAt < :submittedAt OR (r.submittedAt = :submittedAt AND r.id < :id) " +
+           "ORDER BY r.submittedAt DESC, r.id DESC")
+    List<Report> findPageAfter(
+        @Param("submittedAt") LocalDateTime submittedAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
+    @Query("SELECT r FROM Report r WHERE r.status = :status ORDER BY r.submittedAt DESC, r.id DESC")
+    List<Report> findFirstPageByStatus(@Param("status") Report.ReportStatus status, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
+    @Query("SELECT r FROM Report r WHERE r.status = :status " +
+           "AND (r.submittedAt < :submittedAt OR (r.submittedAt = :submittedAt AND r.id < :id)) " +
+           "ORDER BY r.submittedAt DESC, r.id DESC")
+    List<Report> findPageByStatusAfter(
+        @Param("status") Report.ReportStatus status,
+        @Param("submittedAt") LocalDateTime submittedAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
+    @Query("SELECT r FROM Report r WHERE r.reporter = :reporter ORDER BY r.submittedAt DESC, r.id DESC")
+    List<Report> findFirstPageByReporter(@Param("reporter") User reporter, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"reporter", "resolvedBy"})
+    @Query("SELECT r FROM Report r WHERE r.reporter = :reporter " +
+           "AND (r.submittedAt < :submittedAt OR (r.submittedAt = :submittedAt AND r.id < :id)) " +
+           "ORDER BY r.submittedAt DESC, r.id DESC")
+    List<Report> findPageByReporterAfter(
+        @Param("reporter") User reporter,
+        @Param("submittedAt") LocalDateTime submittedAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
 } 
\ No newline at end of file
@@ -11,6 +11,8 @@ public class ReportResponse {
     private Report.UrgencyLevel urgency;
     private String description;
     private String imageUrl;
+    private String thumbnailUrl;
+    private Report.ImageStatus imageStatus;
     private Double latitude;
     private Double longitude;
     private Report.ReportStatus status;
@@ -19,6 +21,9 @@ public class ReportResponse {
     private String reporterUsername;
     private String resolvedByUsername;
     private Integer pointsAwarded;
+    private int corroborationCount;
+    private LocalDateTime lastCorroboratedAt;
+    private boolean corroborated;
     
     // Constructors
     public ReportResponse() {}
@@ -30,6 +35,8 @@ public class ReportResponse {
         this.urgency = report.getUrgency();
         this.description = report.getDescription();
         this.imageUrl = report.getImageUrl();
+        this.thumbnailUrl = report.getThumbnailUrl();
+        this.imageStatus = report.getImageStatus();
         this.latitude = report.getLatitude();
         this.longitude = report.getLongitude();
         this.status = report.getStatus();
@@ -38,6 +45,8 @@ public class ReportResponse {
         this.reporterUsername = report.getReporter() != null ? report.getReporter().getUsername() : null;
         this.resolvedByUsername = report.getResolvedBy() != null ? report.getResolvedBy().getUsername() : null;
         this.pointsAwarded = report.getPointsAwarded();
+        this.corroborationCount = report.getCorroborationCount() != null ? report.getCorroborationCount() : 0;
+        this.lastCorroboratedAt = report.getLastCorroboratedAt();
     }
     
     // Getters and Setters
@@ -59,6 +68,12 @@ public class ReportResponse {
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+    
+    public Report.ImageStatus getImageStatus() { return imageStatus; }
+    public void setImageStatus(Report.ImageStatus imageStatus) { this.imageStatus = imageStatus; }
+    
     public Double getLatitude() { return latitude; }
     public void setLatitude(Double latitude) { this.latitude = latitude; }
     
@@ -82,4 +97,13 @@ public class ReportResponse {
     
     public Integer getPointsAwarded() { return pointsAwarded; }
     public void setPointsAwarded(Integer pointsAwarded) { this.pointsAwarded = pointsAwarded; }
+    
+    public int getCorroborationCount() { return corroborationCount; }
+    public void setCorroborationCount(int corroborationCount) { this.corroborationCount = corroborationCount; }
+    
+    public LocalDateTime getLastCorroboratedAt() { return lastCorroboratedAt; }
+    public void setLastCorroboratedAt(LocalDateTime lastCorroboratedAt) { this.lastCorroboratedAt = lastCorroboratedAt; }
+
+    public boolean isCorroborated() { return corroborated; }
+    public void setCorroborated(boolean corroborated) { this.corroborated = corroborated; }
 } 
\ No newline at end of file
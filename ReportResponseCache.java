@@ -0,0 +1,138 @@
+package com.smartbin.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartbin.dto.ReportResponse;
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of serialized {@link ReportResponse} JSON for reports in a final status,
+ * keyed by id, with the validators used for conditional GETs. Writers invalidate both
+ * immediately and again after commit; a generation counter stops a read that raced an
+ * invalidation from re-caching the old bytes.
+ */
+@Component
+public class ReportResponseCache {
+
+    private static final Set<Report.ReportStatus> FINAL_STATUSES =
+            EnumSet.of(Report.ReportStatus.RESOLVED, Report.ReportStatus.REJECTED);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.report-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<Long, CachedReport> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public Optional<CachedReport> get(Long reportId) {
+        return Optional.ofNullable(entries.get(reportId));
+    }
+
+    // Read before loading the report and pass to put()
+    public long generation() {
+        return generation.get();
+    }
+
+    public CachedReport render(Report report) {
+        try {
+            return new CachedReport(objectMapper.writeValueAsBytes(new ReportResponse(report)),
+                    etagOf(report), lastModifiedMillis(report));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize report " + report.getId(), e);
+        }
+    }
+
+    public void putIfFinal(Report report, CachedReport rendered, long readGeneration) {
+        if (maxSize <= 0 || !FINAL_STATUSES.contains(report.getStatus())) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(report.getId(), rendered);
+        if (generation.get() != readGeneration) {
+            entries.remove(report.getId(), rendered);
+        }
+    }
+
+    public void invalidate(Long reportId) {
+        generation.incrementAndGet();
+        entries.remove(reportId);
+    }
+
+    @TransactionalEventListener
+    public void onReportEvent(ReportEvent event) {
+        if (event.getType() != ReportEvent.Type.CREATED) {
+            invalidate(event.getReport().getId());
+        }
+    }
+
+    public static String etagOf(Report report) {
+        LocalDateTime modified = lastModified(report);
+        long stamp = modified == null ? 0
+                : modified.atZone(ZoneId.systemDefault()).toInstant().getEpochSecond() * 1_000_000
+                        + modified.getNano() / 1_000;
+        return "\"r" + report.getId() + "-" + Long.toHexString(stamp) + "\"";
+    }
+
+    public static long lastModifiedMillis(Report report) {
+        LocalDateTime modified = lastModified(report);
+        return modified == null ? -1 : modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Rows written before updated_at existed fall back to their latest known timestamp
+    private static LocalDateTime lastModified(Report report) {
+        if (report.getUpdatedAt() != null) {
+            return report.getUpdatedAt();
+        }
+        LocalDateTime latest = report.getSubmittedAt();
+        for (LocalDateTime candidate : new LocalDateTime[] {report.getResolvedAt(), report.getLastCorroboratedAt()}) {
+            if (candidate != null && (latest == null || candidate.isAfter(latest))) {
+                latest = candidate;
+            }
+        }
+        return latest;
+    }
+
+    private void evict() {
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Long> keys = entries.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    public static final class CachedReport {
+        private final byte[] json;
+        private final String etag;
+        private final long lastModifiedMillis;
+
+        private CachedReport(byte[] json, String etag, long lastModifiedMillis) {
+            this.json = json;
+            this.etag = etag;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+
+        public byte[] getJson() { return json; }
+        public String getEtag() { return etag; }
+        public long getLastModifiedMillis() { return lastModifiedMillis; }
+    }
+}
\ No newline at end of file
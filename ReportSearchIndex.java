@@ -0,0 +1,400 @@
+package com.smartbin.service;
+
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import com.smartbin.repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over report location and description. Terms live in a sorted
+ * dictionary so a query token also matches every term it prefixes; each term maps to a
+ * sorted array of report ids. Queries AND their tokens: candidates come from the rarest
+ * token and are checked against the others by binary search, then ranked by idf with
+ * location hits and exact terms weighted above description hits and prefix matches.
+ */
+@Component
+public class ReportSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportSearchIndex.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    private static final byte IN_LOCATION = 1;
+    private static final byte IN_DESCRIPTION = 2;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private NavigableMap<String, Postings> terms = new TreeMap<>();
+    private Map<Long, Doc> docs = new HashMap<>();
+    // Events seen while a rebuild is reading the table; replayed onto the new maps at the swap
+    private List<ReportEvent> missedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            // Start buffering before the query so nothing committed after its snapshot is lost
+            missedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NavigableMap<String, Postings> builtTerms = new TreeMap<>();
+        Map<Long, Doc> builtDocs = new HashMap<>();
+        boolean built = false;
+        int replayed = 0;
+        try {
+            try (Stream<Object[]> rows = reportRepository.streamSearchFields()) {
+                rows.forEach(row -> add(builtTerms, builtDocs, (Long) row[0], (String) row[1], (String) row[2],
+                        (Report.ReportStatus) row[3], (Report.WasteType) row[4], (Report.UrgencyLevel) row[5],
+                        (LocalDateTime) row[6]));
+            }
+            built = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (built) {
+                    terms = builtTerms;
+                    docs = builtDocs;
+                    // Applying an event twice is harmless: creates re-add, deletes remove, status overwrites
+                    missedDuringRebuild.forEach(this::apply);
+                    replayed = missedDuringRebuild.size();
+                }
+                missedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("Search index built with {} reports and {} terms ({} events replayed)",
+                builtDocs.size(), builtTerms.size(), replayed);
+    }
+
+    @TransactionalEventListener
+    public void onReportEvent(ReportEvent event) {
+        if (event.getReport().getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (missedDuringRebuild != null) {
+                missedDuringRebuild.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void apply(ReportEvent event) {
+        Report report = event.getReport();
+        if (event.getType() == ReportEvent.Type.DELETED) {
+            remove(report.getId());
+        } else if (event.getType() == ReportEvent.Type.CREATED) {
+            remove(report.getId());
+            add(terms, docs, report.getId(), report.getLocation(), report.getDescription(),
+                    report.getStatus(), report.getWasteType(), report.getUrgency(), report.getSubmittedAt());
+        } else {
+            // Text never changes after creation; only the filterable fields move
+            Doc doc = docs.get(report.getId());
+            if (doc != null) {
+                doc.status = report.getStatus();
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} reports matching every token of {@code query}, best first.
+     * Null filters match everything.
+     */
+    public List<Hit> search(String query, Report.ReportStatus status, Report.WasteType wasteType,
+                            Report.UrgencyLevel urgency, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Match>> tokenMatches = new ArrayList<>();
+            for (String token : tokens) {
+                List<Match> matches = expand(token);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                tokenMatches.add(matches);
+            }
+            // Drive from the token with the fewest postings; the rest are probed per candidate
+            tokenMatches.sort(Comparator.comparingLong(ReportSearchIndex::postingCount));
+
+            Map<Long, Float> candidates = new HashMap<>();
+            for (Match match : tokenMatches.get(0)) {
+                Postings postings = match.postings;
+                for (int i = 0; i < postings.size; i++) {
+                    candidates.merge(postings.ids[i], match.score(postings.fields[i]), Math::max);
+                }
+            }
+
+            Comparator<Hit> ranking = Comparator.comparingDouble(Hit::getScore)
+                    .thenComparing(Hit::getSubmittedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            PriorityQueue<Hit> top = new PriorityQueue<>(ranking);
+            for (Map.Entry<Long, Float> candidate : candidates.entrySet()) {
+                Doc doc = docs.get(candidate.getKey());
+                if (doc == null || (status != null && doc.status != status)
+                        || (wasteType != null && doc.wasteType != wasteType)
+                        || (urgency != null && doc.urgency != urgency)) {
+                    continue;
+                }
+
+                float score = candidate.getValue();
+                for (int t = 1; t < tokenMatches.size() && score > 0; t++) {
+                    float best = bestScore(tokenMatches.get(t), candidate.getKey());
+                    score = best > 0 ? score + best : 0;
+                }
+                if (score <= 0) {
+                    continue;
+                }
+
+                top.offer(new Hit(candidate.getKey(), doc, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> result = new ArrayList<>(top);
+            result.sort(ranking.reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(normalized)) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Caller holds the write lock (or owns the maps during rebuild)
+    private static void add(NavigableMap<String, Postings> terms, Map<Long, Doc> docs, Long id, String location,
+                            String description, Report.ReportStatus status, Report.WasteType wasteType,
+                            Report.UrgencyLevel urgency, LocalDateTime submittedAt) {
+        Map<String, Byte> fields = new HashMap<>();
+        for (String token : tokenize(location)) {
+            fields.merge(token, IN_LOCATION, (a, b) -> (byte) (a | b));
+        }
+        for (String token : tokenize(description)) {
+            fields.merge(token, IN_DESCRIPTION, (a, b) -> (byte) (a | b));
+        }
+
+        for (Map.Entry<String, Byte> field : fields.entrySet()) {
+            terms.computeIfAbsent(field.getKey(), k -> new Postings()).add(id, field.getValue());
+        }
+        docs.put(id, new Doc(location, status, wasteType, urgency, submittedAt, fields.keySet().toArray(new String[0])));
+    }
+
+    // Caller holds the write lock
+    private void remove(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    private List<Match> expand(String token) {
+        List<Match> matches = new ArrayList<>();
+        double docCount = Math.max(docs.size(), 1);
+        for (Map.Entry<String, Postings> term : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            if (matches.size() >= MAX_PREFIX_TERMS) {
+                break;
+            }
+            float idf = (float) Math.log(1 + docCount / term.getValue().size);
+            float weight = term.getKey().length() == token.length() ? 1.0f : 0.5f;
+            matches.add(new Match(term.getValue(), idf * weight));
+        }
+        return matches;
+    }
+
+    private static float bestScore(List<Match> matches, long id) {
+        float best = 0;
+        for (Match match : matches) {
+            int index = match.postings.indexOf(id);
+            if (index >= 0) {
+                best = Math.max(best, match.score(match.postings.fields[index]));
+            }
+        }
+        return best;
+    }
+
+    private static long postingCount(List<Match> matches) {
+        long count = 0;
+        for (Match match : matches) {
+            count += match.postings.size;
+        }
+        return count;
+    }
+
+    private static final class Match {
+        private final Postings postings;
+        private final float weight;
+
+        private Match(Postings postings, float weight) {
+            this.postings = postings;
+            this.weight = weight;
+        }
+
+        // A term in the location counts double a term in the description
+        private float score(byte fields) {
+            return weight * (((fields & IN_LOCATION) != 0 ? 2 : 0) + ((fields & IN_DESCRIPTION) != 0 ? 1 : 0));
+        }
+    }
+
+    /**
+     * Report ids containing a term, kept sorted; new reports have the highest ids so
+     * indexing them is an append.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private byte[] fields = new byte[4];
+        private int size;
+
+        private void add(long id, byte field) {
+            int index = size > 0 && ids[size - 1] < id ? -(size + 1) : indexOf(id);
+            if (index >= 0) {
+                fields[index] |= field;
+                return;
+            }
+            int insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(fields, insertAt, fields, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            fields[insertAt] = field;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(fields, index + 1, fields, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private int indexOf(long id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+    }
+
+    private static final class Doc {
+        private final String location;
+        private Report.ReportStatus status;
+        private final Report.WasteType wasteType;
+        private final Report.UrgencyLevel urgency;
+        private final LocalDateTime submittedAt;
+        private final String[] terms;
+
+        private Doc(String location, Report.ReportStatus status, Report.WasteType wasteType,
+                    Report.UrgencyLevel urgency, LocalDateTime submittedAt, String[] terms) {
+            this.location = location;
+            this.status = status;
+            this.wasteType = wasteType;
+            this.urgency = urgency;
+            this.submittedAt = submittedAt;
+            this.terms = terms;
+        }
+    }
+
+    public static final class Hit {
+        private final Long id;
+        private final String location;
+        private final Report.ReportStatus status;
+        private final Report.WasteType wasteType;
+        private final Report.UrgencyLevel urgency;
+        private final LocalDateTime submittedAt;
+        private final float score;
+
+        private Hit(Long id, Doc doc, float score) {
+            this.id = id;
+            this.location = doc.location;
+            this.status = doc.status;
+            this.wasteType = doc.wasteType;
+            this.urgency = doc.urgency;
+            this.submittedAt = doc.submittedAt;
+            this.score = score;
+        }
+
+        public Long getId() { return id; }
+        public String getLocation() { return location; }
+        public Report.ReportStatus getStatus() { return status; }
+        public Report.WasteType getWasteType() { return wasteType; }
+        public Report.UrgencyLevel getUrgency() { return urgency; }
+        public LocalDateTime getSubmittedAt() { return submittedAt; }
+        public float getScore() { return score; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.smartbin.dto;
+
+import com.smartbin.model.Report;
+import com.smartbin.service.ReportSearchIndex;
+import java.time.LocalDateTime;
+
+public class ReportSearchResponse {
+    
+    private Long id;
+    private String location;
+    private Report.ReportStatus status;
+    private Report.WasteType wasteType;
+    private Report.UrgencyLevel urgency;
+    private LocalDateTime submittedAt;
+    private float score;
+    
+    // Constructors
+    public ReportSearchResponse() {}
+    
+    public ReportSearchResponse(ReportSearchIndex.Hit hit) {
+        this.id = hit.getId();
+        this.location = hit.getLocation();
+        this.status = hit.getStatus();
+        this.wasteType = hit.getWasteType();
+        this.urgency = hit.getUrgency();
+        this.submittedAt = hit.getSubmittedAt();
+        this.score = hit.getScore();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    
+    public Report.ReportStatus getStatus() { return status; }
+    public void setStatus(Report.ReportStatus status) { this.status = status; }
+    
+    public Report.WasteType getWasteType() { return wasteType; }
+    public void setWasteType(Report.WasteType wasteType) { this.wasteType = wasteType; }
+    
+    public Report.UrgencyLevel getUrgency() { return urgency; }
+    public void setUrgency(Report.UrgencyLevel urgency) { this.urgency = urgency; }
+    
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+    
+    public float getScore() { return score; }
+    public void setScore(float score) { this.score = score; }
+}
\ No newline at end of file
@@ -1,19 +1,29 @@
 package com.smartbin.service;
 
+import com.smartbin.dto.CursorPage;
+import com.smartbin.dto.ReportCursor;
+import com.smartbin.event.ReportEvent;
 import com.smartbin.model.Report;
 import com.smartbin.model.User;
 import com.smartbin.repository.ReportRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,32 +37,113 @@ public class ReportService {
     private ReportRepository reportRepository;
 
     @Autowired
-    private AzureStorageService azureStorageService;
+    private StorageBackend storageBackend;
 
     @Autowired
     private PointsService pointsService;
 
-    public Report createReport(Report report, User reporter, MultipartFile image) throws IOException {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @Autowired
+    private ReportSpatialIndex spatialIndex;
+
+    @Autowired
+    private ReportResponseCache reportResponseCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.storage.upload.async:false}")
+    private boolean asyncImageUpload;
+
+    @Value("${app.reports.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    @Value("${app.reports.dedup.radius-meters:50}")
+    private double dedupRadiusMeters;
+
+    @Value("${app.reports.dedup.window-minutes:120}")
+    private long dedupWindowMinutes;
+
+    // Not transactional as a whole: a synchronous upload would otherwise hold a DB connection
+    // for the whole blob round trip. The reads and the insert each take a short transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CreatedReport createReport(Report report, User reporter, MultipartFile image) throws IOException {
         report.setReporter(reporter);
         report.setSubmittedAt(LocalDateTime.now());
         report.setStatus(Report.ReportStatus.PENDING);
 
-        // Upload image to Azure Storage if provided
-        if (image != null && !image.isEmpty()) {
+        // Fold bare repeat sightings of the same bin into the open report; no new row or upload.
+        // A photo or description would be lost that way, so those always make their own report
+        boolean bareSighting = (image == null || image.isEmpty())
+                && (report.getDescription() == null || report.getDescription().isBlank());
+        Optional<Report> corroborated = bareSighting
+                ? transactionTemplate.execute(status -> corroborateExisting(report))
+                : Optional.empty();
+        if (corroborated.isPresent()) {
+            return new CreatedReport(corroborated.get(), true);
+        }
+
+        boolean hasImage = image != null && !image.isEmpty();
+        if (hasImage && !asyncImageUpload) {
             try {
-                String imageUrl = azureStorageService.uploadFile(image, "report-images");
-                report.setImageUrl(imageUrl);
-                logger.info("Uploaded report image: {}", imageUrl);
+                ImageUploadService.StoredImage stored = imageUploadService.store(image.getBytes());
+                report.setImageUrl(stored.getImageUrl());
+                report.setThumbnailUrl(stored.getThumbnailUrl());
+                report.setImageStatus(Report.ImageStatus.UPLOADED);
+                logger.info("Uploaded report image: {}", stored.getImageUrl());
             } catch (IOException e) {
                 logger.error("Failed to upload report image", e);
                 throw new IOException("Failed to upload image: " + e.getMessage());
             }
         }
 
-        Report savedReport = reportRepository.save(report);
+        Report savedReport;
+        try {
+            savedReport = transactionTemplate.execute(status -> {
+                if (hasImage && asyncImageUpload) {
+                    // Persist now; the upload runs after commit and fills in the URL
+                    try {
+                        imageUploadService.uploadAfterCommit(report, image);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                Report saved = reportRepository.save(report);
+                eventPublisher.publishEvent(ReportEvent.created(saved));
+                return saved;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
         logger.info("Created new report with ID: {}", savedReport.getId());
-        
-        return savedReport;
+
+        return new CreatedReport(savedReport, false);
+    }
+
+    /**
+     * Persists all reports in one transaction. With sequence-generated ids Hibernate sends
+     * the inserts as JDBC batches (hibernate.jdbc.batch_size).
+     */
+    public List<Report> createReports(List<Report> reports, User reporter) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Report report : reports) {
+            report.setReporter(reporter);
+            report.setSubmittedAt(now);
+            report.setStatus(Report.ReportStatus.PENDING);
+            report.setImageStatus(report.getImageUrl() != null ? Report.ImageStatus.UPLOADED : Report.ImageStatus.NONE);
+        }
+
+        List<Report> savedReports = reportRepository.saveAll(reports);
+        reportRepository.flush();
+        logger.info("Created {} reports in batch", savedReports.size());
+
+        savedReports.forEach(saved -> eventPublisher.publishEvent(ReportEvent.created(saved)));
+        return savedReports;
     }
 
     public Page<Report> getAllReports(Pageable pageable) {
@@ -67,8 +158,32 @@ public class ReportService {
         return reportRepository.findByReporterOrderBySubmittedAtDesc(user);
     }
 
+    public CursorPage<Report> getReportsAfter(ReportCursor after, int size) {
+        Pageable probe = PageRequest.of(0, size + 1);
+        List<Report> reports = after == null
+                ? reportRepository.findFirstPageOrderBySubmittedAtDesc(probe)
+                : reportRepository.findPageAfter(after.getSubmittedAt(), after.getId(), probe);
+        return toCursorPage(reports, size);
+    }
+
+    public CursorPage<Report> getReportsByStatusAfter(Report.ReportStatus status, ReportCursor after, int size) {
+        Pageable probe = PageRequest.of(0, size + 1);
+        List<Report> reports = after == null
+                ? reportRepository.findFirstPageByStatus(status, probe)
+                : reportRepository.findPageByStatusAfter(status, after.getSubmittedAt(), after.getId(), probe);
+        return toCursorPage(reports, size);
+    }
+
+    public CursorPage<Report> getReportsByUserAfter(User user, ReportCursor after, int size) {
+        Pageable probe = PageRequest.of(0, size + 1);
+        List<Report> reports = after == null
+                ? reportRepository.findFirstPageByReporter(user, probe)
+                : reportRepository.findPageByReporterAfter(user, after.getSubmittedAt(), after.getId(), probe);
+        return toCursorPage(reports, size);
+    }
+
     public Optional<Report> getReportById(Long id) {
-        return reportRepository.findById(id);
+        return reportRepository.findWithUsersById(id);
     }
 
     public Report updateReportStatus(Long reportId, Report.ReportStatus newStatus, User resolvedBy) {
@@ -79,6 +194,7 @@ public class ReportService {
 
         Report report = reportOpt.get();
         Report.ReportStatus oldStatus = report.getStatus();
+        reportResponseCache.invalidate(reportId);
         report.setStatus(newStatus);
 
         if (newStatus == Report.ReportStatus.RESOLVED && oldStatus != Report.ReportStatus.RESOLVED) {
@@ -96,6 +212,7 @@ public class ReportService {
 
         Report updatedReport = reportRepository.save(report);
         logger.info("Updated report {} status from {} to {}", reportId, oldStatus, newStatus);
+        eventPublisher.publishEvent(ReportEvent.statusChanged(updatedReport, oldStatus));
         
         return updatedReport;
     }
@@ -107,11 +224,15 @@ public class ReportService {
         }
 
         Report report = reportOpt.get();
+        reportResponseCache.invalidate(reportId);
         
-        // Delete associated image from Azure Storage
+        // Delete associated image from storage
         if (report.getImageUrl() != null && !report.getImageUrl().isEmpty()) {
             try {
-                azureStorageService.deleteFile(report.getImageUrl());
+                storageBackend.delete(report.getImageUrl());
+                if (report.getThumbnailUrl() != null) {
+                    storageBackend.delete(report.getThumbnailUrl());
+                }
                 logger.info("Deleted image file for report: {}", reportId);
             } catch (Exception e) {
                 logger.error("Failed to delete image file for report: {}", reportId, e);
@@ -120,6 +241,7 @@ public class ReportService {
 
         reportRepository.delete(report);
         logger.info("Deleted report with ID: {}", reportId);
+        eventPublisher.publishEvent(ReportEvent.deleted(report));
     }
 
     public List<Report> getRecentReports(int limit) {
@@ -138,6 +260,41 @@ public class ReportService {
         return reportRepository.countByStatus(Report.ReportStatus.PENDING);
     }
 
+    private Optional<Report> corroborateExisting(Report report) {
+        if (!dedupEnabled || report.getLatitude() == null || report.getLongitude() == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Optional<ReportSpatialIndex.Entry> duplicate = spatialIndex.findDuplicate(
+                report.getLatitude(), report.getLongitude(), report.getWasteType(),
+                dedupRadiusMeters, now.minusMinutes(dedupWindowMinutes));
+        if (duplicate.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Long existingId = duplicate.get().getId();
+        // The index trails commits; the conditional update is what decides the report is still open
+        if (reportRepository.incrementCorroboration(existingId, ReportSpatialIndex.OPEN_STATUSES, now) == 0) {
+            return Optional.empty();
+        }
+
+        Report existing = reportRepository.findById(existingId)
+                .orElseThrow(() -> new RuntimeException("Report not found with ID: " + existingId));
+        logger.info("Coalesced duplicate submission into report {} ({} corroborations)",
+                existingId, existing.getCorroborationCount());
+        eventPublisher.publishEvent(ReportEvent.corroborated(existing));
+        return Optional.of(existing);
+    }
+
+    // One extra row is fetched to learn whether another page exists without a COUNT(*)
+    private CursorPage<Report> toCursorPage(List<Report> reports, int size) {
+        boolean hasNext = reports.size() > size;
+        List<Report> content = hasNext ? reports.subList(0, size) : reports;
+        String nextCursor = hasNext ? ReportCursor.of(content.get(content.size() - 1)).toString() : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+
     private int calculatePointsForReport(Report report) {
         int basePoints = 10;
         
@@ -154,4 +311,19 @@ public class ReportService {
                 return basePoints;
         }
     }
-} 
\ No newline at end of file
+
+    public static class CreatedReport {
+        private final Report report;
+        private final boolean corroborated;
+
+        public CreatedReport(Report report, boolean corroborated) {
+            this.report = report;
+            this.corroborated = corroborated;
+        }
+
+        public Report getReport() { return report; }
+
+        // True when the submission was recorded against an existing open report
+        public boolean isCorroborated() { return corroborated; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+package com.smartbin.service;
+
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import com.smartbin.repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index over open reports that carry coordinates. Each report is
+ * bucketed into a fixed-size lat/lon cell so radius and bounding-box lookups only
+ * touch the cells overlapping the query instead of the reports table.
+ */
+@Component
+public class ReportSpatialIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportSpatialIndex.class);
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    public static final Set<Report.ReportStatus> OPEN_STATUSES =
+            EnumSet.of(Report.ReportStatus.PENDING, Report.ReportStatus.IN_PROGRESS);
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Value("${app.geo.cell-size-degrees:0.01}")
+    private double cellSizeDegrees;
+
+    private final Map<Long, Map<Long, Entry>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Events seen while a rebuild is querying; replayed after the snapshot is loaded
+    private List<ReportEvent> missedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            // Start buffering before the query so nothing committed after its snapshot is lost
+            missedDuringRebuild = new ArrayList<>();
+        }
+
+        List<Report> openReports = null;
+        int replayed = 0;
+        try {
+            openReports = reportRepository.findLocatedByStatusIn(OPEN_STATUSES);
+        } finally {
+            synchronized (this) {
+                if (openReports != null) {
+                    cells.clear();
+                    entries.clear();
+                    openReports.forEach(this::index);
+                    // Replays are idempotent: index() and remove() set the final state for the id
+                    missedDuringRebuild.forEach(this::apply);
+                    replayed = missedDuringRebuild.size();
+                }
+                missedDuringRebuild = null;
+            }
+        }
+        logger.info("Spatial index built with {} open reports in {} cells ({} events replayed)",
+                entries.size(), cells.size(), replayed);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onReportEvent(ReportEvent event) {
+        if (missedDuringRebuild != null) {
+            missedDuringRebuild.add(event);
+        }
+        apply(event);
+    }
+
+    private void apply(ReportEvent event) {
+        if (event.getType() == ReportEvent.Type.DELETED) {
+            remove(event.getReport().getId());
+        } else {
+            index(event.getReport());
+        }
+    }
+
+    public synchronized void index(Report report) {
+        if (report.getId() == null) {
+            return;
+        }
+        if (!OPEN_STATUSES.contains(report.getStatus())
+                || report.getLatitude() == null || report.getLongitude() == null) {
+            remove(report.getId());
+            return;
+        }
+
+        Entry entry = new Entry(report);
+        Entry previous = entries.put(entry.id, entry);
+        if (previous != null && previous.cell != entry.cell) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(entry.cell, k -> new ConcurrentHashMap<>()).put(entry.id, entry);
+    }
+
+    public synchronized void remove(Long reportId) {
+        if (reportId == null) {
+            return;
+        }
+        Entry previous = entries.remove(reportId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public List<Entry> findWithinBox(double minLat, double minLon, double maxLat, double maxLon, int limit) {
+        List<Entry> result = new ArrayList<>();
+        int minRow = row(minLat);
+        int maxRow = row(maxLat);
+        int minCol = col(minLon);
+        int maxCol = col(maxLon);
+
+        long cellsInBox = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        if (cellsInBox > cells.size()) {
+            // Box spans more cells than are populated; walking the occupied cells is cheaper
+            for (Map<Long, Entry> cell : cells.values()) {
+                collectWithinBox(cell, minLat, minLon, maxLat, maxLon, result);
+            }
+        } else {
+            for (int r = minRow; r <= maxRow; r++) {
+                for (int c = minCol; c <= maxCol; c++) {
+                    Map<Long, Entry> cell = cells.get(cellKey(r, c));
+                    if (cell != null) {
+                        collectWithinBox(cell, minLat, minLon, maxLat, maxLon, result);
+                    }
+                }
+            }
+        }
+
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    public List<Entry> findWithinRadius(double lat, double lon, double radiusMeters, int limit) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double lonDelta = radiusMeters / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 1e-6));
+
+        List<Entry> candidates = findWithinBox(
+                Math.max(lat - latDelta, -90), Math.max(lon - lonDelta, -180),
+                Math.min(lat + latDelta, 90), Math.min(lon + lonDelta, 180),
+                Integer.MAX_VALUE);
+
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : candidates) {
+            double distance = distanceMeters(lat, lon, entry.latitude, entry.longitude);
+            if (distance <= radiusMeters) {
+                result.add(entry.withDistance(distance));
+            }
+        }
+        result.sort(Comparator.comparingDouble(Entry::getDistanceMeters));
+
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * Nearest open report of the same waste type within the radius that was submitted
+     * (or last corroborated) at or after {@code since}.
+     */
+    public Optional<Entry> findDuplicate(double lat, double lon, Report.WasteType wasteType,
+                                         double radiusMeters, LocalDateTime since) {
+        return findWithinRadius(lat, lon, radiusMeters, Integer.MAX_VALUE).stream()
+                .filter(entry -> entry.wasteType == wasteType)
+                .filter(entry -> entry.lastActivityAt != null && !entry.lastActivityAt.isBefore(since))
+                .findFirst();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void collectWithinBox(Map<Long, Entry> cell, double minLat, double minLon,
+                                  double maxLat, double maxLon, List<Entry> result) {
+        for (Entry entry : cell.values()) {
+            if (entry.latitude >= minLat && entry.latitude <= maxLat
+                    && entry.longitude >= minLon && entry.longitude <= maxLon) {
+                result.add(entry);
+            }
+        }
+    }
+
+    private void removeFromCell(Entry entry) {
+        cells.computeIfPresent(entry.cell, (k, cell) -> {
+            cell.remove(entry.id);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90) / cellSizeDegrees);
+    }
+
+    private int col(double lon) {
+        return (int) Math.floor((lon + 180) / cellSizeDegrees);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    public final class Entry {
+        private final Long id;
+        private final String location;
+        private final Report.WasteType wasteType;
+        private final Report.UrgencyLevel urgency;
+        private final Report.ReportStatus status;
+        private final double latitude;
+        private final double longitude;
+        private final LocalDateTime lastActivityAt;
+        private final long cell;
+        private final Double distanceMeters;
+
+        private Entry(Report report) {
+            this.id = report.getId();
+            this.location = report.getLocation();
+            this.wasteType = report.getWasteType();
+            this.urgency = report.getUrgency();
+            this.status = report.getStatus();
+            this.latitude = report.getLatitude();
+            this.longitude = report.getLongitude();
+            this.lastActivityAt = report.getLastCorroboratedAt() != null
+                    ? report.getLastCorroboratedAt() : report.getSubmittedAt();
+            this.cell = cellKey(row(latitude), col(longitude));
+            this.distanceMeters = null;
+        }
+
+        private Entry(Entry source, double distanceMeters) {
+            this.id = source.id;
+            this.location = source.location;
+            this.wasteType = source.wasteType;
+            this.urgency = source.urgency;
+            this.status = source.status;
+            this.latitude = source.latitude;
+            this.longitude = source.longitude;
+            this.lastActivityAt = source.lastActivityAt;
+            this.cell = source.cell;
+            this.distanceMeters = distanceMeters;
+        }
+
+        private Entry withDistance(double distance) {
+            return new Entry(this, distance);
+        }
+
+        public Long getId() { return id; }
+        public String getLocation() { return location; }
+        public Report.WasteType getWasteType() { return wasteType; }
+        public Report.UrgencyLevel getUrgency() { return urgency; }
+        public Report.ReportStatus getStatus() { return status; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public Double getDistanceMeters() { return distanceMeters; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.smartbin.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link SubmissionRateLimiter} to report submission. Runs in the security chain
+ * right after JWT authentication and before anything reads the request body, so a
+ * rejected upload is answered without parsing its multipart content. A batch pays one
+ * token here; the controller charges the rest per item once it has parsed the body, using
+ * the bucket recorded in the request attributes.
+ */
+@Component
+public class ReportSubmissionRateLimitFilter extends OncePerRequestFilter {
+
+    public static final String KEY_ATTRIBUTE = ReportSubmissionRateLimitFilter.class.getName() + ".key";
+    public static final String TIER_ATTRIBUTE = ReportSubmissionRateLimitFilter.class.getName() + ".tier";
+
+    @Autowired
+    private SubmissionRateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !path.equals("/api/reports") && !path.equals("/api/reports/batch");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key;
+        SubmissionRateLimiter.Tier tier;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            key = "user:" + principal.getUser().getId();
+            tier = principal.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))
+                    ? SubmissionRateLimiter.Tier.ADMIN
+                    : SubmissionRateLimiter.Tier.USER;
+        } else {
+            key = "ip:" + request.getRemoteAddr();
+            tier = SubmissionRateLimiter.Tier.ANONYMOUS;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(key, tier);
+        if (waitNanos == 0) {
+            request.setAttribute(KEY_ATTRIBUTE, key);
+            request.setAttribute(TIER_ATTRIBUTE, tier);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        // Don't make the container drain a large unread upload before replying on this connection
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", 429);
+        body.put("error", "Too Many Requests");
+        body.put("message", "Report submission rate exceeded, retry in " + retryAfterSeconds + " s");
+        body.put("path", request.getServletPath());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
\ No newline at end of file
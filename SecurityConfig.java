@@ -2,6 +2,8 @@ package com.smartbin.config;
 
 import com.smartbin.security.JwtAuthenticationEntryPoint;
 import com.smartbin.security.JwtAuthenticationFilter;
+import com.smartbin.security.ReportSubmissionRateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,8 +29,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private ReportSubmissionRateLimitFilter reportSubmissionRateLimitFilter;
+
+    // Static so UserService can get it without creating this config (and its filters) first
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    public static PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
@@ -41,8 +47,12 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
+                // Async re-dispatches (SSE, streamed exports) were authorized on the original request;
+                // error dispatches carry its failure and would otherwise turn every 5xx into a 401
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 .requestMatchers("/", "/dashboard", "/reports/**", "/schedule", "/education", "/rewards").permitAll()
                 .requestMatchers("/api/auth/**", "/api/public/**").permitAll()
+                .requestMatchers("/api/dashboard/stats").permitAll()
                 .requestMatchers("/css/**", "/js/**", "/images/**", "/favicon.ico").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
@@ -54,6 +64,7 @@ public class SecurityConfig {
             .headers(headers -> headers.frameOptions().disable()); // For H2 console
 
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(reportSubmissionRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
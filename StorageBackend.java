@@ -0,0 +1,47 @@
+package com.smartbin.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Where report images live. Selected with {@code app.storage.backend} ({@code azure},
+ * {@code local} or {@code memory}); URLs returned by {@link #store} are what gets persisted
+ * on the report.
+ */
+public interface StorageBackend {
+
+    Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/webp", ".webp");
+
+    /**
+     * Extension for a stored file, taken from its content type. The client's file name is
+     * never part of a storage path.
+     *
+     * @throws IllegalArgumentException if the content type is not an allowed image type
+     */
+    static String extensionFor(String contentType) {
+        String mediaType = contentType == null ? "" : contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        String extension = EXTENSIONS.get(mediaType);
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
+        return extension;
+    }
+
+    String store(InputStream data, long size, String originalFilename, String contentType, String folder)
+            throws IOException;
+
+    boolean delete(String fileUrl);
+
+    boolean exists(String fileUrl);
+
+    /**
+     * Copies the stored file to {@code target}, replacing it if present.
+     */
+    void download(String fileUrl, Path target) throws IOException;
+}
\ No newline at end of file
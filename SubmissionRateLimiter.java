@@ -0,0 +1,166 @@
+package com.smartbin.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket limits on report submission, one bucket per user or client IP. Each bucket
+ * is a single {@link AtomicLong} holding its theoretical arrival time (the GCRA form of a
+ * token bucket) and is updated with CAS, so checks never lock. A bucket whose arrival time
+ * has passed is full and indistinguishable from a new one, so idle buckets are dropped.
+ */
+@Component
+public class SubmissionRateLimiter {
+
+    public enum Tier {
+        ANONYMOUS, USER, ADMIN
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.reports.anonymous.capacity:5}")
+    private int anonymousCapacity;
+
+    @Value("${app.rate-limit.reports.anonymous.per-minute:5}")
+    private int anonymousPerMinute;
+
+    @Value("${app.rate-limit.reports.user.capacity:10}")
+    private int userCapacity;
+
+    @Value("${app.rate-limit.reports.user.per-minute:10}")
+    private int userPerMinute;
+
+    @Value("${app.rate-limit.reports.admin.capacity:100}")
+    private int adminCapacity;
+
+    @Value("${app.rate-limit.reports.admin.per-minute:100}")
+    private int adminPerMinute;
+
+    @Value("${app.rate-limit.reports.max-keys:100000}")
+    private int maxKeys;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<Tier, Limit> limits = new EnumMap<>(Tier.class);
+
+    @PostConstruct
+    public void init() {
+        limits.put(Tier.ANONYMOUS, new Limit(Tier.ANONYMOUS, anonymousCapacity, anonymousPerMinute));
+        limits.put(Tier.USER, new Limit(Tier.USER, userCapacity, userPerMinute));
+        limits.put(Tier.ADMIN, new Limit(Tier.ADMIN, adminCapacity, adminPerMinute));
+    }
+
+    /**
+     * Takes one token for {@code key}. Returns 0 when allowed, otherwise the number of
+     * nanoseconds until a token is available.
+     */
+    public long tryAcquire(String key, Tier tier) {
+        Limit limit = limits.get(tier);
+        if (limit.perMinute <= 0) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        AtomicLong bucket = bucket(key, now);
+        while (true) {
+            long arrival = bucket.get();
+            // nanoTime values are only comparable by difference
+            long start = arrival - now > 0 ? arrival : now;
+            long wait = start - now - limit.burstToleranceNanos;
+            if (wait > 0) {
+                limit.rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, start + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes as many of {@code permits} tokens as {@code key} has available, for requests
+     * that submit several reports at once. Returns the number taken.
+     */
+    public int tryAcquireUpTo(String key, Tier tier, int permits) {
+        Limit limit = limits.get(tier);
+        if (limit.perMinute <= 0 || permits <= 0) {
+            return Math.max(permits, 0);
+        }
+
+        long now = System.nanoTime();
+        AtomicLong bucket = bucket(key, now);
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long available = Math.floorDiv(now + limit.burstToleranceNanos - start, limit.intervalNanos) + 1;
+            int granted = (int) Math.max(0, Math.min(permits, available));
+            if (granted == 0 || bucket.compareAndSet(arrival, start + granted * limit.intervalNanos)) {
+                if (granted < permits) {
+                    limit.rejected.increment(permits - granted);
+                }
+                return granted;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.reports.sweep-interval-ms:60000}")
+    public void sweepIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evict();
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        return bucket;
+    }
+
+    private void evict() {
+        sweepIdle();
+        // Still full: drop an arbitrary slice; those keys start over with a full bucket
+        int toRemove = buckets.size() - maxKeys + Math.max(1, maxKeys / 10);
+        Iterator<String> keys = buckets.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private final class Limit {
+        private final int perMinute;
+        private final long intervalNanos;
+        private final long burstToleranceNanos;
+        private final Counter rejected;
+
+        private Limit(Tier tier, int capacity, int perMinute) {
+            this.perMinute = perMinute;
+            this.intervalNanos = perMinute > 0 ? TimeUnit.MINUTES.toNanos(1) / perMinute : 0;
+            this.burstToleranceNanos = intervalNanos * (Math.max(capacity, 1) - 1);
+            this.rejected = Counter.builder("reports.rate_limited")
+                    .description("Report submissions rejected by the rate limiter")
+                    .tag("tier", tier.name())
+                    .register(meterRegistry);
+        }
+    }
+}
\ No newline at end of file
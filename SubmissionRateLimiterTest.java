@@ -0,0 +1,55 @@
+package com.smartbin.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmissionRateLimiterTest {
+
+    private SubmissionRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new SubmissionRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(rateLimiter, "anonymousCapacity", 5);
+        ReflectionTestUtils.setField(rateLimiter, "anonymousPerMinute", 5);
+        ReflectionTestUtils.setField(rateLimiter, "userCapacity", 10);
+        ReflectionTestUtils.setField(rateLimiter, "userPerMinute", 10);
+        ReflectionTestUtils.setField(rateLimiter, "adminCapacity", 100);
+        ReflectionTestUtils.setField(rateLimiter, "adminPerMinute", 0);
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 100);
+        rateLimiter.init();
+    }
+
+    @Test
+    void singleRequestsStopAtCapacity() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("user:1", SubmissionRateLimiter.Tier.USER)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("user:1", SubmissionRateLimiter.Tier.USER)).isPositive();
+    }
+
+    @Test
+    void batchTakesOnlyWhatIsLeft() {
+        assertThat(rateLimiter.tryAcquire("user:1", SubmissionRateLimiter.Tier.USER)).isZero();
+
+        assertThat(rateLimiter.tryAcquireUpTo("user:1", SubmissionRateLimiter.Tier.USER, 499)).isEqualTo(9);
+        assertThat(rateLimiter.tryAcquireUpTo("user:1", SubmissionRateLimiter.Tier.USER, 5)).isZero();
+        assertThat(rateLimiter.tryAcquire("user:1", SubmissionRateLimiter.Tier.USER)).isPositive();
+    }
+
+    @Test
+    void batchWithinCapacityIsTakenWhole() {
+        assertThat(rateLimiter.tryAcquireUpTo("ip:10.0.0.1", SubmissionRateLimiter.Tier.ANONYMOUS, 3)).isEqualTo(3);
+        assertThat(rateLimiter.tryAcquireUpTo("ip:10.0.0.1", SubmissionRateLimiter.Tier.ANONYMOUS, 3)).isEqualTo(2);
+    }
+
+    @Test
+    void disabledTierGrantsEverything() {
+        assertThat(rateLimiter.tryAcquireUpTo("user:2", SubmissionRateLimiter.Tier.ADMIN, 500)).isEqualTo(500);
+    }
+}
\ No newline at end of file
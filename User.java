@@ -12,7 +12,8 @@ import java.util.Set;
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -43,7 +44,8 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @Column(name = "points")
+    // Only changed through atomic UPDATE statements (see UserRepository.addPoints), never by entity flushes
+    @Column(name = "points", updatable = false)
     private Integer points = 0;
 
     @ElementCollection(fetch = FetchType.EAGER)
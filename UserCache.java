@@ -0,0 +1,169 @@
+package com.smartbin.service;
+
+import com.smartbin.event.UserEvent;
+import com.smartbin.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, TTL-based cache of users by username. Writers invalidate both immediately and
+ * again after commit, and each invalidation bumps a generation for the username; a reader
+ * passes the generation it saw before loading to {@link #put}, so a row loaded before a
+ * commit is never cached after that commit's invalidation.
+ * Entries are private copies and every hit returns a fresh copy, so a caller that changes
+ * its user cannot leak the change to other requests.
+ */
+@Component
+public class UserCache {
+
+    @Value("${app.user-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.user-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Finds the entry of a user whose username has changed since it was cached
+    private final Map<Long, String> usernamesById = new ConcurrentHashMap<>();
+    // Striped by username so the counters stay bounded; a collision only skips a put
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    public Optional<User> get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            remove(username, entry);
+            return Optional.empty();
+        }
+        return Optional.of(copy(entry.user));
+    }
+
+    // Read before loading the user and pass to put()
+    public long generation(String username) {
+        return generations.get(stripe(username));
+    }
+
+    public void put(User user, long readGeneration) {
+        if (maxSize <= 0 || user.getUsername() == null) {
+            return;
+        }
+        if (generation(user.getUsername()) != readGeneration) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        if (user.getId() != null) {
+            String previous = usernamesById.put(user.getId(), user.getUsername());
+            if (previous != null && !previous.equals(user.getUsername())) {
+                entries.remove(previous);
+            }
+        }
+        Entry entry = new Entry(copy(user), System.currentTimeMillis() + ttlMs);
+        entries.put(user.getUsername(), entry);
+        if (generation(user.getUsername()) != readGeneration) {
+            remove(user.getUsername(), entry);
+        }
+    }
+
+    public void invalidate(User user) {
+        if (user == null) {
+            return;
+        }
+        invalidate(user.getId(), user.getUsername());
+    }
+
+    public void invalidate(Long userId, String username) {
+        if (userId != null) {
+            String indexed = usernamesById.remove(userId);
+            if (indexed != null) {
+                generations.incrementAndGet(stripe(indexed));
+                entries.remove(indexed);
+            }
+        }
+        if (username != null) {
+            generations.incrementAndGet(stripe(username));
+            entries.remove(username);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserEvent(UserEvent event) {
+        invalidate(event.getUserId(), event.getUsername());
+    }
+
+    public void clear() {
+        entries.clear();
+        usernamesById.clear();
+    }
+
+    private static int stripe(String username) {
+        return Math.floorMod(username.hashCode(), GENERATION_STRIPES);
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.forEach((username, entry) -> {
+            if (entry.expiresAtMillis <= now) {
+                remove(username, entry);
+            }
+        });
+
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            Map.Entry<String, Entry> next = it.next();
+            it.remove();
+            unindex(next.getKey(), next.getValue());
+        }
+    }
+
+    private void remove(String username, Entry entry) {
+        if (entries.remove(username, entry)) {
+            unindex(username, entry);
+        }
+    }
+
+    private void unindex(String username, Entry entry) {
+        if (entry.user.getId() != null) {
+            usernamesById.remove(entry.user.getId(), username);
+        }
+    }
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        copy.setPoints(user.getPoints());
+        copy.setRoles(user.getRoles() != null ? new HashSet<>(user.getRoles()) : new HashSet<>());
+        return copy;
+    }
+
+    private static final class Entry {
+        private final User user;
+        private final long expiresAtMillis;
+
+        private Entry(User user, long expiresAtMillis) {
+            this.user = user;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
\ No newline at end of file
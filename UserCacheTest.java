@@ -0,0 +1,62 @@
+package com.smartbin.service;
+
+import com.smartbin.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTest {
+
+    private final UserCache cache = new UserCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60000L);
+    }
+
+    @Test
+    void changesToReturnedUserDoNotReachCache() {
+        cache.put(user(1L, "alice"), cache.generation("alice"));
+
+        User first = cache.get("alice").orElseThrow();
+        first.setEmail("changed@example.com");
+        first.getRoles().add(User.Role.ADMIN);
+
+        User second = cache.get("alice").orElseThrow();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getEmail()).isEqualTo("alice@example.com");
+        assertThat(second.getRoles()).containsExactly(User.Role.USER);
+    }
+
+    @Test
+    void invalidateByIdFindsEntryUnderOldUsername() {
+        cache.put(user(1L, "alice"), cache.generation("alice"));
+
+        cache.invalidate(1L, "alice2");
+
+        assertThat(cache.get("alice")).isEmpty();
+    }
+
+    @Test
+    void rowLoadedBeforeInvalidationIsNotCached() {
+        long generation = cache.generation("alice");
+        User loadedBeforeCommit = user(1L, "alice");
+
+        cache.invalidate(1L, "alice");
+        cache.put(loadedBeforeCommit, generation);
+
+        assertThat(cache.get("alice")).isEmpty();
+
+        cache.put(user(1L, "alice"), cache.generation("alice"));
+        assertThat(cache.get("alice")).isPresent();
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User(username, username + "@example.com", "secret", "First", "Last");
+        user.setId(id);
+        return user;
+    }
+}
\ No newline at end of file
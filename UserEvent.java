@@ -0,0 +1,25 @@
+package com.smartbin.event;
+
+public class UserEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final String username;
+
+    public UserEvent(Type type, Long userId, String username) {
+        this.type = type;
+        this.userId = userId;
+        this.username = username;
+    }
+
+    // Getters
+    public Type getType() { return type; }
+
+    public Long getUserId() { return userId; }
+
+    public String getUsername() { return username; }
+}
\ No newline at end of file
@@ -2,9 +2,12 @@ package com.smartbin.repository;
 
 import com.smartbin.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +23,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT COUNT(u) FROM User u")
     long countUsers();
+    
+    // Rows of [id, username, points including pending ledger entries] for rebuilding the leaderboard.
+    // One statement, so a compaction moving deltas from the ledger to users.points is seen whole or not at all
+    @Query("SELECT u.id, u.username, COALESCE(u.points, 0) + " +
+           "(SELECT COALESCE(SUM(e.delta), 0) FROM PointsLedgerEntry e WHERE e.userId = u.id AND e.applied = false) " +
+           "FROM User u")
+    List<Object[]> findAllPoints();
+    
+    @Modifying
+    @Query("UPDATE User u SET u.points = COALESCE(u.points, 0) + :delta WHERE u.id = :id")
+    int addPoints(@Param("id") Long id, @Param("delta") int delta);
+    
+    // Pending ledger awards count toward the balance, so users.points alone may go negative until compaction
+    @Modifying
+    @Query("UPDATE User u SET u.points = COALESCE(u.points, 0) - :cost WHERE u.id = :id AND COALESCE(u.points, 0) + " +
+           "(SELECT COALESCE(SUM(e.delta), 0) FROM PointsLedgerEntry e WHERE e.userId = :id AND e.applied = false) >= :cost")
+    int deductPoints(@Param("id") Long id, @Param("cost") int cost);
 } 
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.smartbin.service;
 
+import com.smartbin.event.UserEvent;
 import com.smartbin.model.User;
 import com.smartbin.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
@@ -19,8 +22,24 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserCache userCache;
+
+    // Runs on every authenticated request; a cache hit must not take a connection
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        Optional<User> cached = userCache.get(username);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = userCache.generation(username);
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(u -> userCache.put(u, generation));
+        return user;
     }
 
     public Optional<User> findByEmail(String email) {
@@ -37,15 +56,26 @@ public class UserService {
         }
 
         User user = new User(username, email, passwordEncoder.encode(password), firstName, lastName);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserEvent(UserEvent.Type.CREATED, savedUser.getId(), savedUser.getUsername()));
+        return savedUser;
     }
 
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        invalidateCachedUser(savedUser);
+        return savedUser;
     }
 
     public void deleteUser(Long userId) {
-        userRepository.deleteById(userId);
+        Optional<User> userOpt = userRepository.findById(userId);
+        if (userOpt.isEmpty()) {
+            return;
+        }
+
+        userRepository.delete(userOpt.get());
+        userCache.invalidate(userOpt.get());
+        eventPublisher.publishEvent(new UserEvent(UserEvent.Type.DELETED, userId, userOpt.get().getUsername()));
     }
 
     public boolean existsByUsername(String username) {
@@ -61,11 +91,18 @@ public class UserService {
     }
 
     public User addPointsToUser(User user, int points) {
-        user.setPoints(user.getPoints() + points);
-        return userRepository.save(user);
+        // Atomic in-database increment: concurrent awards to the same user cannot lose updates
+        userRepository.addPoints(user.getId(), points);
+        invalidateCachedUser(user);
+        return user;
     }
 
     public boolean validatePassword(User user, String rawPassword) {
         return passwordEncoder.matches(rawPassword, user.getPassword());
     }
+
+    private void invalidateCachedUser(User user) {
+        userCache.invalidate(user);
+        eventPublisher.publishEvent(new UserEvent(UserEvent.Type.UPDATED, user.getId(), user.getUsername()));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+-- Schema as hibernate.ddl-auto=update created it before Flyway took over.
+-- Existing databases are baselined at version 1 and pick up everything from V2 on;
+-- new databases build it here so both end up with the same history.
+
+CREATE TABLE users (
+    id ${identity_type} NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(120) NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    created_at ${timestamp_type},
+    updated_at ${timestamp_type},
+    points INT,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role VARCHAR(20),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE reports (
+    id ${identity_type} NOT NULL,
+    location VARCHAR(100) NOT NULL,
+    waste_type VARCHAR(20) NOT NULL,
+    urgency VARCHAR(20) NOT NULL,
+    description VARCHAR(1000),
+    image_url VARCHAR(255),
+    latitude FLOAT(53),
+    longitude FLOAT(53),
+    status VARCHAR(20) NOT NULL,
+    submitted_at ${timestamp_type},
+    resolved_at ${timestamp_type},
+    reporter_id BIGINT,
+    resolved_by BIGINT,
+    points_awarded INT,
+    CONSTRAINT pk_reports PRIMARY KEY (id),
+    CONSTRAINT fk_reports_reporter FOREIGN KEY (reporter_id) REFERENCES users (id),
+    CONSTRAINT fk_reports_resolved_by FOREIGN KEY (resolved_by) REFERENCES users (id)
+);
\ No newline at end of file
@@ -0,0 +1,109 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves users and reports from IDENTITY ids to the pooled sequences the entities now use
+ * (allocationSize 50). Each sequence starts a full block above the current MAX(id): Hibernate
+ * treats the value it fetches as the top of a block and hands out the 49 ids below it too.
+ * SQL can't do this portably, since the start value has to be a literal and SQL Server
+ * cannot drop IDENTITY in place.
+ */
+public class V2_1__Replace_identity_ids_with_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        replaceIdentity(connection, "users", "user_seq");
+        replaceIdentity(connection, "reports", "report_seq");
+    }
+
+    private void replaceIdentity(Connection connection, String table, String sequence) throws SQLException {
+        if (isIdentity(connection, table)) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (product.startsWith("H2")) {
+                execute(connection, "ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+            } else if (product.startsWith("Microsoft SQL Server")) {
+                rebuildIdColumn(connection, table);
+            } else {
+                throw new FlywayException("No identity migration for " + product);
+            }
+        }
+
+        long start;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            start = rs.getLong(1) + ALLOCATION_SIZE;
+        }
+        execute(connection, "CREATE SEQUENCE " + sequence + " START WITH " + start + " INCREMENT BY " + ALLOCATION_SIZE);
+    }
+
+    private boolean isIdentity(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                identifier(metaData, table), identifier(metaData, "id"))) {
+            return rs.next() && "YES".equals(rs.getString("IS_AUTOINCREMENT"));
+        }
+    }
+
+    /**
+     * SQL Server keeps IDENTITY for the life of a column, so copy the ids into a plain column
+     * and swap it in, dropping and restoring the primary key and every foreign key on it.
+     */
+    private void rebuildIdColumn(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        List<String[]> foreignKeys = new ArrayList<>();
+        try (ResultSet rs = metaData.getExportedKeys(connection.getCatalog(), connection.getSchema(), table)) {
+            while (rs.next()) {
+                foreignKeys.add(new String[] {rs.getString("FKTABLE_NAME"), rs.getString("FK_NAME"),
+                        rs.getString("FKCOLUMN_NAME")});
+            }
+        }
+        String primaryKey = null;
+        try (ResultSet rs = metaData.getPrimaryKeys(connection.getCatalog(), connection.getSchema(), table)) {
+            if (rs.next()) {
+                primaryKey = rs.getString("PK_NAME");
+            }
+        }
+
+        for (String[] fk : foreignKeys) {
+            execute(connection, "ALTER TABLE " + fk[0] + " DROP CONSTRAINT " + fk[1]);
+        }
+        if (primaryKey != null) {
+            execute(connection, "ALTER TABLE " + table + " DROP CONSTRAINT " + primaryKey);
+        }
+        execute(connection, "ALTER TABLE " + table + " ADD id_new BIGINT NULL");
+        execute(connection, "UPDATE " + table + " SET id_new = id");
+        execute(connection, "ALTER TABLE " + table + " DROP COLUMN id");
+        execute(connection, "EXEC sp_rename '" + table + ".id_new', 'id', 'COLUMN'");
+        execute(connection, "ALTER TABLE " + table + " ALTER COLUMN id BIGINT NOT NULL");
+        execute(connection, "ALTER TABLE " + table + " ADD CONSTRAINT pk_" + table + " PRIMARY KEY (id)");
+        for (String[] fk : foreignKeys) {
+            execute(connection, "ALTER TABLE " + fk[0] + " ADD CONSTRAINT " + fk[1] +
+                    " FOREIGN KEY (" + fk[2] + ") REFERENCES " + table + " (id)");
+        }
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class V2_1__Replace_identity_ids_with_sequencesTest {
+
+    private static final String URL = "jdbc:h2:mem:identity_migration;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void seedsSequencesAboveExistingIdsAndDropsIdentity() throws SQLException {
+        // A database as ddl-auto=update left it, with rows already using identity ids
+        flyway("1").migrate();
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (username, email, password, first_name, last_name) " +
+                    "VALUES ('alice', 'a@example.com', 'x', 'A', 'A')");
+            statement.execute("INSERT INTO users (id, username, email, password, first_name, last_name) " +
+                    "VALUES (73, 'bob', 'b@example.com', 'x', 'B', 'B')");
+            statement.execute("INSERT INTO reports (id, location, waste_type, urgency, status, reporter_id) " +
+                    "VALUES (120, 'Main St', 'GENERAL', 'LOW', 'PENDING', 73)");
+
+            flyway(null).migrate();
+
+            // Hibernate's pooled optimizer hands out [next - 49, next]
+            assertThat(nextValue(statement, "user_seq") - 49).isGreaterThan(73);
+            assertThat(nextValue(statement, "report_seq") - 49).isGreaterThan(120);
+            assertThatThrownBy(() -> statement.execute("INSERT INTO reports (location, waste_type, urgency, status) " +
+                    "VALUES ('Elm St', 'GENERAL', 'LOW', 'PENDING')")).isInstanceOf(SQLException.class);
+            try (ResultSet rs = statement.executeQuery("SELECT image_status, corroboration_count FROM reports")) {
+                rs.next();
+                assertThat(rs.getString(1)).isEqualTo("NONE");
+                assertThat(rs.getInt(2)).isZero();
+            }
+        }
+    }
+
+    private static long nextValue(Statement statement, String sequence) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT NEXT VALUE FOR " + sequence)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .placeholders(Map.of(
+                        "identity_type", "BIGINT GENERATED BY DEFAULT AS IDENTITY",
+                        "timestamp_type", "TIMESTAMP",
+                        "boolean_type", "BOOLEAN"))
+                .target(target != null ? target : "latest")
+                .load();
+    }
+}
\ No newline at end of file
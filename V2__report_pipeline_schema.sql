@@ -0,0 +1,30 @@
+-- Columns and tables added by the report pipeline work: background image upload,
+-- thumbnails, corroboration, conditional GETs and the points ledger. The users and
+-- reports id sequences are created by V2_1, seeded from the existing ids.
+
+ALTER TABLE reports ADD thumbnail_url VARCHAR(255);
+ALTER TABLE reports ADD image_status VARCHAR(20);
+ALTER TABLE reports ADD corroboration_count INT;
+ALTER TABLE reports ADD last_corroborated_at ${timestamp_type};
+ALTER TABLE reports ADD updated_at ${timestamp_type};
+
+UPDATE reports SET image_status = CASE WHEN image_url IS NULL THEN 'NONE' ELSE 'UPLOADED' END,
+    corroboration_count = 0,
+    updated_at = COALESCE(resolved_at, submitted_at);
+
+UPDATE users SET points = 0 WHERE points IS NULL;
+
+CREATE SEQUENCE points_ledger_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE points_ledger (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    delta INT NOT NULL,
+    reason VARCHAR(255),
+    created_at ${timestamp_type} NOT NULL,
+    applied ${boolean_type} NOT NULL,
+    CONSTRAINT pk_points_ledger PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_points_ledger_applied_id ON points_ledger (applied, id);
+CREATE INDEX idx_points_ledger_user_applied ON points_ledger (user_id, applied);
\ No newline at end of file
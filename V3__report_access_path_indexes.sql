@@ -0,0 +1,10 @@
+-- One index per ReportRepository access path. Each ends in (submitted_at DESC, id DESC),
+-- the order every listing uses, so filtered lists, keyset pages and the LIMIT query read
+-- rows already in order.
+
+CREATE INDEX idx_reports_submitted ON reports (submitted_at DESC, id DESC);
+CREATE INDEX idx_reports_status_submitted ON reports (status, submitted_at DESC, id DESC);
+CREATE INDEX idx_reports_status_urgency_submitted ON reports (status, urgency, submitted_at DESC, id DESC);
+CREATE INDEX idx_reports_reporter_submitted ON reports (reporter_id, submitted_at DESC, id DESC);
+CREATE INDEX idx_reports_urgency_submitted ON reports (urgency, submitted_at DESC, id DESC);
+CREATE INDEX idx_reports_waste_type_submitted ON reports (waste_type, submitted_at DESC, id DESC);
\ No newline at end of file
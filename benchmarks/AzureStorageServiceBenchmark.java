@@ -0,0 +1,51 @@
+package com.smartbin.benchmark;
+
+import com.smartbin.service.AzureStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blob name extraction, run on every delete, exists and download. The method is
+ * private, so it is reached through a method handle resolved once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AzureStorageServiceBenchmark {
+
+    private static final String URL =
+            "https://smartbin.blob.core.windows.net/report-images/reports/2024/05/3f2b9c1e-photo.jpg";
+
+    private MethodHandle extractBlobName;
+    private AzureStorageService storageService;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        extractBlobName = MethodHandles.privateLookupIn(AzureStorageService.class, MethodHandles.lookup())
+                .findVirtual(AzureStorageService.class, "extractBlobNameFromUrl",
+                        MethodType.methodType(String.class, String.class));
+        // Not initialised: extraction needs no blob client
+        storageService = new AzureStorageService();
+    }
+
+    @Benchmark
+    public String extractBlobNameFromUrl() throws Throwable {
+        return (String) extractBlobName.invokeExact(storageService, URL);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.smartbin.benchmark;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.common.StorageSharedKeyCredential;
+import com.smartbin.service.AzureStorageService;
+import com.smartbin.service.Bulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AzureStorageService uploads against an in-process stand-in for Blob Storage: a stub
+ * HttpClient behind the real BlobServiceClient that answers every call after a fixed
+ * latency and counts requests by kind. roundTrips and uploadedBytes are reported per
+ * second next to uploads per second, so their ratio is round trips per upload. Files
+ * above max-single-upload-size (8 MB) go out as 4 MB blocks staged 4 at a time plus a
+ * block list commit; smaller ones as a single put. The run fails if an upload checks the
+ * container or sets headers in a separate call, or if blocks are never staged in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AzureUploadBenchmark {
+
+    @Param({"262144", "16777216"})
+    private int payloadBytes;
+
+    @Param({"20"})
+    private long latencyMs;
+
+    private StubBlobHttpClient httpClient;
+    private AzureStorageService storageService;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        httpClient = new StubBlobHttpClient(latencyMs);
+        String key = Base64.getEncoder().encodeToString(new byte[64]);
+
+        storageService = new AzureStorageService();
+        ReflectionTestUtils.setField(storageService, "blobServiceClient", new BlobServiceClientBuilder()
+                .endpoint("https://benchmark.blob.core.windows.net")
+                .credential(new StorageSharedKeyCredential("benchmark", key))
+                .httpClient(httpClient)
+                .buildClient());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(storageService, "meterRegistry", registry);
+        ReflectionTestUtils.setField(storageService, "storageBulkhead", new Bulkhead("storage", 32, 30000, registry));
+        ReflectionTestUtils.setField(storageService, "containerName", "report-images");
+        ReflectionTestUtils.setField(storageService, "blockSize", DataSize.ofMegabytes(4));
+        ReflectionTestUtils.setField(storageService, "maxSingleUploadSize", DataSize.ofMegabytes(8));
+        ReflectionTestUtils.setField(storageService, "maxConcurrency", 4);
+        storageService.init();
+
+        payload = new byte[payloadBytes];
+    }
+
+    @TearDown(Level.Trial)
+    public void checkRequests() {
+        Map<String, Long> requests = httpClient.requestsByKind();
+        System.out.println("Requests by kind: " + requests + ", peak blocks in flight: " + httpClient.peakBlocksInFlight);
+        if (requests.getOrDefault("container", 0L) > 1 || requests.containsKey("properties")) {
+            throw new IllegalStateException("Uploads made extra round trips: " + requests);
+        }
+        if (requests.containsKey("block") && httpClient.peakBlocksInFlight.get() < 2) {
+            throw new IllegalStateException("Blocks were staged one at a time");
+        }
+    }
+
+    @Benchmark
+    public String upload(Counters counters) throws IOException {
+        long requestsBefore = httpClient.requests.get();
+        String url = storageService.store(new ByteArrayInputStream(payload), payload.length, "photo.jpg",
+                "image/jpeg", "report-images");
+        counters.roundTrips += httpClient.requests.get() - requestsBefore;
+        counters.uploadedBytes += payload.length;
+        return url;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long roundTrips;
+        public long uploadedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roundTrips = 0;
+            uploadedBytes = 0;
+        }
+    }
+
+    /**
+     * Answers every Blob Storage call with 201 after the configured latency, once the
+     * request body has been read.
+     */
+    static final class StubBlobHttpClient implements HttpClient {
+
+        private final long latencyMs;
+        private final AtomicLong requests = new AtomicLong();
+        private final Map<String, AtomicLong> byKind = new ConcurrentHashMap<>();
+        private final AtomicLong blocksInFlight = new AtomicLong();
+        private final AtomicLong peakBlocksInFlight = new AtomicLong();
+
+        StubBlobHttpClient(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request) {
+            requests.incrementAndGet();
+            String kind = kind(request);
+            byKind.computeIfAbsent(kind, k -> new AtomicLong()).incrementAndGet();
+            Mono<Long> body = request.getBody() == null
+                    ? Mono.just(0L)
+                    : request.getBody().reduce(0L, (total, buffer) -> total + buffer.remaining());
+            Mono<HttpResponse> response = Mono.delay(Duration.ofMillis(latencyMs))
+                    .then(body)
+                    .map(bytes -> new StubResponse(request, request.getHttpMethod() == HttpMethod.HEAD ? 200 : 201));
+            if (!"block".equals(kind)) {
+                return response;
+            }
+            return Mono.defer(() -> {
+                peakBlocksInFlight.accumulateAndGet(blocksInFlight.incrementAndGet(), Math::max);
+                return response;
+            }).doFinally(signal -> blocksInFlight.decrementAndGet());
+        }
+
+        Map<String, Long> requestsByKind() {
+            Map<String, Long> result = new TreeMap<>();
+            byKind.forEach((kind, count) -> result.put(kind, count.get()));
+            return result;
+        }
+
+        private static String kind(HttpRequest request) {
+            String query = request.getUrl().getQuery() == null ? "" : request.getUrl().getQuery();
+            if (query.contains("restype=container")) {
+                return "container";
+            }
+            if (query.contains("comp=blocklist")) {
+                return "blocklist";
+            }
+            if (query.contains("comp=block")) {
+                return "block";
+            }
+            if (query.contains("comp=properties")) {
+                return "properties";
+            }
+            return request.getHttpMethod() + " blob";
+        }
+    }
+
+    private static final class StubResponse extends HttpResponse {
+
+        private final int statusCode;
+        private final HttpHeaders headers = new HttpHeaders()
+                .set(HttpHeaderName.ETAG, "\"0x8DC0000000000000\"")
+                .set(HttpHeaderName.LAST_MODIFIED,
+                        DateTimeFormatter.RFC_1123_DATE_TIME.format(OffsetDateTime.now(ZoneOffset.UTC)))
+                .set(HttpHeaderName.fromString("x-ms-request-id"), "benchmark");
+
+        private StubResponse(HttpRequest request, int statusCode) {
+            super(request);
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public String getHeaderValue(String name) {
+            return headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.empty();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.smartbin.benchmark;
+
+import com.smartbin.event.ReportEvent;
+import com.smartbin.model.Report;
+import com.smartbin.service.ReportMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the instrumentation a request pays outside the JWT filter (see
+ * JwtAuthenticationFilterBenchmark for that one): the repository invocation timer
+ * Spring Boot records for every query, and the report outcome counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    private MeterRegistry registry;
+    private ReportMetrics reportMetrics;
+    private ReportEvent created;
+
+    @Setup
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        reportMetrics = new ReportMetrics();
+        ReflectionTestUtils.setField(reportMetrics, "meterRegistry", registry);
+        reportMetrics.init();
+
+        Report report = new Report("Main St", Report.WasteType.RECYCLABLE, Report.UrgencyLevel.HIGH, "Full");
+        report.setStatus(Report.ReportStatus.PENDING);
+        created = ReportEvent.created(report);
+    }
+
+    // What MetricsRepositoryMethodInvocationListener does per query, histogram included
+    @Benchmark
+    public void repositoryInvocationTimer() {
+        Timer.builder("spring.data.repository.invocations")
+                .tag("repository", "ReportRepository")
+                .tag("method", "findFirstPageOrderBySubmittedAtDesc")
+                .tag("state", "SUCCESS")
+                .tag("exception", "None")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(1_500_000, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void reportCreatedCounter() {
+        reportMetrics.onReportEvent(created);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.smartbin.benchmark;
+
+import com.smartbin.model.User;
+import com.smartbin.security.AuthenticatedUser;
+import com.smartbin.security.JwtAuthenticationFilter;
+import com.smartbin.security.JwtTokenProvider;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through JwtAuthenticationFilter: header parsing, the
+ * verified-token cache, principal lookup and security context population. The user
+ * lookup is a stub, so the figure excludes UserCache and the database. With
+ * instrumented=false every meter is denied and records into a no-op, which isolates
+ * the cost of the jwt.validation timer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    private boolean instrumented;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = JwtBenchmark.tokenProvider();
+        User user = new User("alice", "alice@example.com", "x", "Alice", "A");
+        user.setId(1L);
+        AuthenticatedUser principal = new AuthenticatedUser(user);
+        UserDetailsService userDetailsService = username -> principal;
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        if (!instrumented) {
+            registry.config().meterFilter(MeterFilter.deny());
+        }
+        ReflectionTestUtils.setField(filter, "meterRegistry", registry);
+        filter.initMetrics();
+
+        authorization = "Bearer " + tokenProvider.generateTokenFromUsername("alice");
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,300 @@
+package com.smartbin.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartbin.SmartBinTrackerApplication;
+import com.smartbin.model.User;
+import com.smartbin.repository.UserRepository;
+import com.smartbin.security.JwtTokenProvider;
+import com.smartbin.service.UserService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test against an in-process instance started with the loadtest profile
+ * (in-memory H2, in-memory storage with STORAGE_LATENCY_MS of simulated latency). Each
+ * virtual-thread client picks an endpoint by weight, waits for the response and goes
+ * again. Latencies from the warm-up are discarded; the rest are written as JSON.
+ * <p>
+ * Options: --clients=200 --warmup-seconds=10 --duration-seconds=60
+ * --mix=create:10,list:60,status:10,dashboard:20 --output=target/load-result.json.
+ * Set VIRTUAL_THREADS=true to run the server itself on virtual threads.
+ */
+public class LoadDriver {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String BOUNDARY = "----smartbin-load-boundary";
+
+    enum Endpoint { CREATE, LIST, STATUS, DASHBOARD }
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Map<Endpoint, ConcurrentHistogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Map<String, LongAdder>> errors = new EnumMap<>(Endpoint.class);
+    private final List<Long> reportIds = new CopyOnWriteArrayList<>();
+    private final String baseUrl;
+    private final String userToken;
+    private final String adminToken;
+    private final byte[] image;
+
+    private LoadDriver(String baseUrl, String userToken, String adminToken) throws IOException {
+        this.baseUrl = baseUrl;
+        this.userToken = userToken;
+        this.adminToken = adminToken;
+        this.image = sampleJpeg();
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3));
+            errors.put(endpoint, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration-seconds", "60"));
+        Map<Endpoint, Integer> mix = mix(options.getOrDefault("mix", "create:10,list:60,status:10,dashboard:20"));
+        Path output = Path.of(options.getOrDefault("output", "target/load-result.json"));
+
+        SpringApplication application = new SpringApplication(SmartBinTrackerApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext context = application.run("--server.port=0")) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            LoadDriver driver = new LoadDriver("http://localhost:" + port,
+                    token(context, "loaduser", false), token(context, "loadadmin", true));
+
+            driver.seed(Math.min(clients, 200));
+            driver.run(clients, mix, warmupSeconds);
+            driver.reset();
+            long elapsedNanos = driver.run(clients, mix, durationSeconds);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("clients", clients);
+            result.put("durationSeconds", durationSeconds);
+            result.put("mix", mix);
+            result.put("storageLatencyMs", context.getEnvironment().getProperty("app.storage.memory.latency-ms"));
+            result.put("virtualThreads", context.getEnvironment().getProperty("spring.threads.virtual.enabled", "false"));
+            result.put("endpoints", driver.summary(elapsedNanos));
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), result);
+            System.out.println(Files.readString(output));
+        }
+    }
+
+    private void seed(int reports) throws Exception {
+        for (int i = 0; i < reports; i++) {
+            call(Endpoint.CREATE);
+        }
+    }
+
+    private long run(int clients, Map<Endpoint, Integer> mix, int seconds) throws InterruptedException {
+        List<Endpoint> weighted = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        });
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (running.get()) {
+                        Endpoint endpoint = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+                        long begin = System.nanoTime();
+                        String error;
+                        try {
+                            int status = call(endpoint);
+                            error = status == 200 ? null : Integer.toString(status);
+                        } catch (Exception e) {
+                            error = e.getClass().getSimpleName();
+                        }
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin);
+                        latencies.get(endpoint).recordValue(Math.min(micros, latencies.get(endpoint).getHighestTrackableValue()));
+                        if (error != null) {
+                            errors.get(endpoint).computeIfAbsent(error, key -> new LongAdder()).increment();
+                        }
+                    }
+                });
+            }
+            TimeUnit.SECONDS.sleep(seconds);
+            running.set(false);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private int call(Endpoint endpoint) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder request;
+        switch (endpoint) {
+            case CREATE:
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/reports"))
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(random)));
+                break;
+            case LIST:
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/reports?after=&size=20"))
+                        .header("Authorization", "Bearer " + userToken)
+                        .GET();
+                break;
+            case STATUS:
+                if (reportIds.isEmpty()) {
+                    return call(Endpoint.CREATE);
+                }
+                Long id = reportIds.get(random.nextInt(reportIds.size()));
+                String status = random.nextBoolean() ? "IN_PROGRESS" : "PENDING";
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/reports/" + id + "/status"))
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"));
+                break;
+            default:
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/dashboard/stats")).GET();
+                break;
+        }
+
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (endpoint == Endpoint.CREATE && response.statusCode() == 200) {
+            Matcher matcher = ID.matcher(response.body());
+            if (matcher.find()) {
+                reportIds.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        return response.statusCode();
+    }
+
+    private void reset() {
+        latencies.values().forEach(Histogram::reset);
+        errors.values().forEach(Map::clear);
+    }
+
+    private Map<String, Object> summary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", histogram.getTotalCount());
+            // Keyed by HTTP status, or by exception for requests that got no response
+            Map<String, Long> endpointErrors = new TreeMap<>();
+            errors.get(endpoint).forEach((error, count) -> endpointErrors.put(error, count.sum()));
+            stats.put("errors", endpointErrors.values().stream().mapToLong(Long::longValue).sum());
+            stats.put("errorsByCause", endpointErrors);
+            stats.put("throughputPerSecond", round(histogram.getTotalCount() / seconds));
+            stats.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            stats.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            stats.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            stats.put("maxMs", millis(histogram.getMaxValue()));
+            endpoints.put(endpoint.name().toLowerCase(), stats);
+        }
+        return endpoints;
+    }
+
+    private byte[] multipart(Random random) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(image.length + 1024);
+        field(body, "location", "Load test bin " + random.nextInt(10000));
+        field(body, "wasteType", "GENERAL");
+        field(body, "urgency", random.nextBoolean() ? "MEDIUM" : "HIGH");
+        field(body, "description", "Overflowing");
+        // Spread over ~10 km so submissions are not coalesced as duplicates
+        field(body, "latitude", Double.toString(51.45 + random.nextDouble() * 0.1));
+        field(body, "longitude", Double.toString(-0.2 + random.nextDouble() * 0.1));
+        body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"image\"; filename=\"bin.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(image);
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private static void field(ByteArrayOutputStream body, String name, String value) throws IOException {
+        body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String token(ConfigurableApplicationContext context, String username, boolean admin) {
+        UserService userService = context.getBean(UserService.class);
+        User user = userService.createUser(username, username + "@example.com", "load-test", "Load", "Test");
+        if (admin) {
+            user.setRoles(Set.of(User.Role.USER, User.Role.ADMIN));
+            context.getBean(UserRepository.class).save(user);
+        }
+        return context.getBean(JwtTokenProvider.class).generateTokenFromUsername(username);
+    }
+
+    // A phone-sized photo, so uploads exercise decoding and thumbnailing
+    private static byte[] sampleJpeg() throws IOException {
+        BufferedImage photo = new BufferedImage(1280, 960, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = photo.createGraphics();
+        Random random = new Random(42);
+        for (int i = 0; i < 400; i++) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRect(random.nextInt(1280), random.nextInt(960), 20 + random.nextInt(200), 20 + random.nextInt(200));
+        }
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(photo, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private static Map<Endpoint, Integer> mix(String spec) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split(":");
+            mix.put(Endpoint.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.smartbin.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartbin.dto.ReportResponse;
+import com.smartbin.model.Report;
+import com.smartbin.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a listing page of reports to ReportResponse, and the same page rendered to
+ * JSON with an ObjectMapper configured the way Spring Boot configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportResponseBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Report> page;
+
+    @Setup
+    public void setUp() {
+        User reporter = new User("alice", "alice@example.com", "x", "Alice", "A");
+        User resolver = new User("admin", "admin@example.com", "x", "Admin", "A");
+        page = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Report report = new Report("Corner of Main St and " + i + "th Ave",
+                    Report.WasteType.values()[i % Report.WasteType.values().length],
+                    Report.UrgencyLevel.values()[i % Report.UrgencyLevel.values().length],
+                    "Bin overflowing onto the pavement");
+            report.setId((long) i + 1);
+            report.setReporter(reporter);
+            report.setResolvedBy(i % 2 == 0 ? resolver : null);
+            report.setStatus(Report.ReportStatus.PENDING);
+            report.setSubmittedAt(now.minusMinutes(i));
+            report.setLatitude(51.5 + i * 0.001);
+            report.setLongitude(-0.12 - i * 0.001);
+            report.setImageUrl("https://account.blob.core.windows.net/images/reports/" + i + ".jpg");
+            page.add(report);
+        }
+    }
+
+    @Benchmark
+    public List<ReportResponse> map() {
+        return page.stream().map(ReportResponse::new).toList();
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(page.stream().map(ReportResponse::new).toList());
+    }
+}
\ No newline at end of file
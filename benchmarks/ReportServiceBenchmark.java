@@ -0,0 +1,54 @@
+package com.smartbin.benchmark;
+
+import com.smartbin.model.Report;
+import com.smartbin.service.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Points awarded on resolution, per urgency. The method is private, so it is reached
+ * through a method handle resolved once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportServiceBenchmark {
+
+    @Param({"LOW", "MEDIUM", "HIGH", "CRITICAL"})
+    private Report.UrgencyLevel urgency;
+
+    private MethodHandle calculatePoints;
+    private ReportService reportService;
+    private Report report;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        calculatePoints = MethodHandles.privateLookupIn(ReportService.class, MethodHandles.lookup())
+                .findVirtual(ReportService.class, "calculatePointsForReport",
+                        MethodType.methodType(int.class, Report.class));
+        reportService = new ReportService();
+        report = new Report("Main St", Report.WasteType.GENERAL, urgency, "Full");
+    }
+
+    @Benchmark
+    public int calculatePointsForReport() throws Throwable {
+        return (int) calculatePoints.invokeExact(reportService, report);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.smartbin.benchmark;
+
+import com.smartbin.model.Report;
+import com.smartbin.service.ReportSpatialIndex;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby and bounding-box lookups over a million reports: ReportSpatialIndex against the
+ * equivalent lat/lon range scan on the reports table, in H2 with the Flyway schema.
+ * Production has no coordinate index, so that is the default; latLonIndex adds one as
+ * the best case for SQL. Reports are spread over about 2 x 4.6 degrees (a small country),
+ * 80% of them open, and queries cycle through fixed random centres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SpatialQueryBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:spatial_benchmark;DB_CLOSE_DELAY=-1";
+    private static final double MIN_LAT = 45.8;
+    private static final double MIN_LON = 5.9;
+    private static final double LAT_SPAN = 2.0;
+    private static final double LON_SPAN = 4.6;
+    private static final double RADIUS_METERS = 1000;
+    private static final double BOX_DEGREES = 0.02;
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final int LIMIT = 100;
+    private static final int QUERIES = 1024;
+
+    @Param("1000000")
+    private int reports;
+
+    @Param({"false", "true"})
+    private boolean latLonIndex;
+
+    private ReportSpatialIndex index;
+    private Connection connection;
+    private PreparedStatement boxQuery;
+    private final double[] queryLats = new double[QUERIES];
+    private final double[] queryLons = new double[QUERIES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .placeholders(Map.of(
+                        "identity_type", "BIGINT GENERATED BY DEFAULT AS IDENTITY",
+                        "timestamp_type", "TIMESTAMP",
+                        "boolean_type", "BOOLEAN"))
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+
+        index = new ReportSpatialIndex();
+        ReflectionTestUtils.setField(index, "cellSizeDegrees", 0.01);
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO reports (id, location, waste_type, urgency, status, latitude, longitude, submitted_at, " +
+                "image_status, corroboration_count) VALUES (?, ?, 'GENERAL', 'LOW', ?, ?, ?, ?, 'NONE', 0)")) {
+            for (long id = 1; id <= reports; id++) {
+                Report report = new Report("Bin " + id, Report.WasteType.GENERAL, Report.UrgencyLevel.LOW, null);
+                report.setId(id);
+                report.setStatus(random.nextInt(5) == 0 ? Report.ReportStatus.RESOLVED : Report.ReportStatus.PENDING);
+                report.setLatitude(MIN_LAT + random.nextDouble() * LAT_SPAN);
+                report.setLongitude(MIN_LON + random.nextDouble() * LON_SPAN);
+                report.setSubmittedAt(now.minusMinutes(id));
+                index.index(report);
+
+                insert.setLong(1, id);
+                insert.setString(2, report.getLocation());
+                insert.setString(3, report.getStatus().name());
+                insert.setDouble(4, report.getLatitude());
+                insert.setDouble(5, report.getLongitude());
+                insert.setTimestamp(6, Timestamp.valueOf(report.getSubmittedAt()));
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement()) {
+            if (latLonIndex) {
+                statement.execute("CREATE INDEX idx_reports_lat_lon ON reports (latitude, longitude)");
+            }
+            statement.execute("ANALYZE");
+        }
+        // Left alone, H2 prefers the status index even though 80% of rows match it
+        boxQuery = connection.prepareStatement(
+                "SELECT id, latitude, longitude FROM reports" + (latLonIndex ? " USE INDEX (idx_reports_lat_lon)" : "") +
+                " WHERE status IN ('PENDING', 'IN_PROGRESS') AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?");
+
+        for (int i = 0; i < QUERIES; i++) {
+            queryLats[i] = MIN_LAT + 0.05 + random.nextDouble() * (LAT_SPAN - 0.1);
+            queryLons[i] = MIN_LON + 0.05 + random.nextDouble() * (LON_SPAN - 0.1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<ReportSpatialIndex.Entry> indexRadius() {
+        int i = nextQuery();
+        return index.findWithinRadius(queryLats[i], queryLons[i], RADIUS_METERS, LIMIT);
+    }
+
+    @Benchmark
+    public List<ReportSpatialIndex.Entry> indexBox() {
+        int i = nextQuery();
+        return index.findWithinBox(queryLats[i], queryLons[i], queryLats[i] + BOX_DEGREES,
+                queryLons[i] + BOX_DEGREES, LIMIT);
+    }
+
+    // Same shape as findWithinRadius: bounding box in the query, exact distance and ordering after
+    @Benchmark
+    public List<double[]> sqlRadius() throws SQLException {
+        int i = nextQuery();
+        double lat = queryLats[i];
+        double lon = queryLons[i];
+        double latDelta = RADIUS_METERS / METERS_PER_DEGREE;
+        double lonDelta = RADIUS_METERS / (METERS_PER_DEGREE * Math.cos(Math.toRadians(lat)));
+
+        List<double[]> result = new ArrayList<>();
+        try (ResultSet rs = queryBox(lat - latDelta, lon - lonDelta, lat + latDelta, lon + lonDelta)) {
+            while (rs.next()) {
+                double distance = ReportSpatialIndex.distanceMeters(lat, lon, rs.getDouble(2), rs.getDouble(3));
+                if (distance <= RADIUS_METERS) {
+                    result.add(new double[] {rs.getLong(1), distance});
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(row -> row[1]));
+        return result.size() > LIMIT ? result.subList(0, LIMIT) : result;
+    }
+
+    @Benchmark
+    public List<Long> sqlBox() throws SQLException {
+        int i = nextQuery();
+        List<Long> result = new ArrayList<>();
+        try (ResultSet rs = queryBox(queryLats[i], queryLons[i], queryLats[i] + BOX_DEGREES,
+                queryLons[i] + BOX_DEGREES)) {
+            while (rs.next() && result.size() < LIMIT) {
+                result.add(rs.getLong(1));
+            }
+        }
+        return result;
+    }
+
+    private ResultSet queryBox(double minLat, double minLon, double maxLat, double maxLon) throws SQLException {
+        boxQuery.setDouble(1, minLat);
+        boxQuery.setDouble(2, maxLat);
+        boxQuery.setDouble(3, minLon);
+        boxQuery.setDouble(4, maxLon);
+        return boxQuery.executeQuery();
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.smartbin.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartbin.dto.ReportResponse;
+import com.smartbin.model.Report;
+import com.smartbin.service.Bulkhead;
+import com.smartbin.service.InMemoryStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of slow image uploads followed by cheap API reads, served the way Tomcat would
+ * serve them: on a 200-thread pool (its default max) or on a virtual thread per request.
+ * Uploads go through InMemoryStorageService with high latency behind the default storage
+ * bulkhead of 32. cheapRequests times how long the reads take to be served;
+ * wholeBurst times until every request, uploads included, is done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int UPLOADS = 400;
+    private static final int READS = 600;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"200"})
+    private long storageLatencyMs;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final byte[] image = new byte[256 * 1024];
+    private InMemoryStorageService storage;
+    private ReportResponse response;
+    private ExecutorService executor;
+    private List<CompletableFuture<?>> uploads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        storage = new InMemoryStorageService();
+        ReflectionTestUtils.setField(storage, "latencyMs", storageLatencyMs);
+        ReflectionTestUtils.setField(storage, "latencyJitterMs", 0L);
+        ReflectionTestUtils.setField(storage, "storageBulkhead",
+                new Bulkhead("storage", 32, 30000, new SimpleMeterRegistry()));
+
+        Report report = new Report("Main St", Report.WasteType.GENERAL, Report.UrgencyLevel.HIGH, "Full");
+        report.setId(1L);
+        report.setStatus(Report.ReportStatus.PENDING);
+        response = new ReportResponse(report);
+    }
+
+    @Setup(Level.Iteration)
+    public void startExecutor() {
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopExecutor() {
+        executor.close();
+    }
+
+    // Outside the timed region, so every burst starts from idle
+    @TearDown(Level.Invocation)
+    public void awaitUploads() {
+        CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @Benchmark
+    public void cheapRequests() {
+        submitUploads();
+        CompletableFuture.allOf(submitReads()).join();
+    }
+
+    @Benchmark
+    public void wholeBurst() {
+        submitUploads();
+        CompletableFuture<?> reads = CompletableFuture.allOf(submitReads());
+        CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+        reads.join();
+    }
+
+    private void submitUploads() {
+        uploads = new ArrayList<>(UPLOADS);
+        for (int i = 0; i < UPLOADS; i++) {
+            uploads.add(CompletableFuture.runAsync(() -> {
+                try {
+                    storage.store(new ByteArrayInputStream(image), image.length, "bin.jpg", "image/jpeg", "reports");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor));
+        }
+    }
+
+    private CompletableFuture<?>[] submitReads() {
+        CompletableFuture<?>[] reads = new CompletableFuture<?>[READS];
+        for (int i = 0; i < READS; i++) {
+            reads[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    objectMapper.writeValueAsBytes(response);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+        }
+        return reads;
+    }
+}
\ No newline at end of file